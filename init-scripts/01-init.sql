@@ -4,13 +4,24 @@ CREATE TABLE IF NOT EXISTS users (
     username VARCHAR(100) NOT NULL UNIQUE,
     email VARCHAR(255) NOT NULL UNIQUE,
     full_name VARCHAR(200),
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    phone_number VARCHAR(50),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Columns added after the first release (existing databases)
+ALTER TABLE users ADD COLUMN IF NOT EXISTS phone_number VARCHAR(50);
+
+-- Keyset paging walks (created_at, id); created_at must be set for the row comparison to see every user
+UPDATE users SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE users ALTER COLUMN created_at SET NOT NULL;
+
 -- Create index on username for faster lookups
 CREATE INDEX IF NOT EXISTS idx_users_username ON users(username);
 
+-- Create index for the newest-first user list
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users(created_at DESC, id DESC);
+
 -- Insert sample data
 INSERT INTO users (username, email, full_name) VALUES
     ('john_doe', 'john@example.com', 'John Doe'),
@@ -44,13 +55,41 @@ CREATE TABLE IF NOT EXISTS photos (
     color VARCHAR(50),
     shot_date DATE,
     image_path VARCHAR(500),
+    thumbnail_path VARCHAR(500),
+    image_srcset VARCHAR(2000),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Normalized tags ("Travel, film" -> {travel,film}) derived from the comma-separated tags column
+ALTER TABLE photos ADD COLUMN IF NOT EXISTS tag_list TEXT[]
+    GENERATED ALWAYS AS (
+        array_remove(string_to_array(lower(regexp_replace(btrim(coalesce(tags, '')), '\s*,\s*', ',', 'g')), ','), '')
+    ) STORED;
+
+-- Resized derivatives (added after the initial schema)
+ALTER TABLE photos ADD COLUMN IF NOT EXISTS thumbnail_path VARCHAR(500);
+ALTER TABLE photos ADD COLUMN IF NOT EXISTS image_srcset VARCHAR(2000);
+
 -- Create index on title for faster lookups
 CREATE INDEX IF NOT EXISTS idx_photos_title ON photos(title);
 
+-- Indexes for tag / genre / color browsing (id included so filtered pages walk the index in order)
+CREATE INDEX IF NOT EXISTS idx_photos_tag_list ON photos USING GIN (tag_list);
+CREATE INDEX IF NOT EXISTS idx_photos_genre ON photos(lower(genre), id DESC);
+CREATE INDEX IF NOT EXISTS idx_photos_color ON photos(lower(color), id DESC);
+-- Nothing filters or sorts on shot_date; drop the index earlier versions of this script created
+DROP INDEX IF EXISTS idx_photos_shot_date;
+
+-- Content-addressed image files (one row per distinct SHA-256), shared by photos
+CREATE TABLE IF NOT EXISTS photo_blobs (
+    sha256 CHAR(64) PRIMARY KEY,
+    image_path VARCHAR(500) NOT NULL UNIQUE,
+    size_bytes BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Create trigger to automatically update updated_at for photos
 DROP TRIGGER IF EXISTS update_photos_updated_at ON photos;
 CREATE TRIGGER update_photos_updated_at
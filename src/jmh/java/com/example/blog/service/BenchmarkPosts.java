@@ -0,0 +1,158 @@
+package com.example.blog.service;
+
+import java.util.Random;
+
+/**
+ * Generated markdown posts for the benchmarks (deterministic, so runs are comparable)
+ */
+final class BenchmarkPosts {
+
+    private static final String[] WORDS = {
+            "stream", "collector", "lambda", "container", "컨테이너", "스트림", "pipeline", "latency",
+            "throughput", "cache", "render", "sanitize", "markdown", "parser", "template", "설정", "성능"
+    };
+
+    private BenchmarkPosts() {
+    }
+
+    /**
+     * @param type small (a short note), large (long article with tables and lists) or code (mostly fenced code)
+     */
+    static String generate(String type) {
+        Random random = new Random(42);
+        StringBuilder post = new StringBuilder();
+        post.append("---\n")
+                .append("title: Benchmark post (").append(type).append(")\n")
+                .append("date: 2025-07-01\n")
+                .append("tags:\n  - Java\n  - Performance\n  - Benchmark\n")
+                .append("category: JAVA\n")
+                .append("---\n\n");
+
+        switch (type) {
+            case "small" -> {
+                paragraph(post, random, 3);
+                list(post, random, 4);
+                paragraph(post, random, 2);
+            }
+            case "large" -> {
+                for (int section = 1; section <= 40; section++) {
+                    post.append("## Section ").append(section).append("\n\n");
+                    paragraph(post, random, 4);
+                    if (section % 3 == 0) {
+                        table(post, random, 8);
+                    } else {
+                        list(post, random, 5);
+                    }
+                    paragraph(post, random, 3);
+                }
+            }
+            case "code" -> {
+                paragraph(post, random, 2);
+                for (int block = 0; block < 20; block++) {
+                    post.append("### Example ").append(block + 1).append("\n\n");
+                    paragraph(post, random, 1);
+                    switch (block % 4) {
+                        case 0 -> code(post, "java", JAVA);
+                        case 1 -> code(post, "yaml", YAML);
+                        case 2 -> code(post, "sql", SQL);
+                        default -> code(post, "bash", BASH);
+                    }
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown post type: " + type);
+        }
+        return post.toString();
+    }
+
+    private static void paragraph(StringBuilder post, Random random, int sentences) {
+        for (int s = 0; s < sentences; s++) {
+            int words = 8 + random.nextInt(10);
+            for (int w = 0; w < words; w++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                switch (random.nextInt(12)) {
+                    case 0 -> post.append("**").append(word).append("**");
+                    case 1 -> post.append('*').append(word).append('*');
+                    case 2 -> post.append('`').append(word).append('`');
+                    case 3 -> post.append('[').append(word).append("](https://example.com/").append(word).append(')');
+                    default -> post.append(word);
+                }
+                post.append(w == words - 1 ? ". " : " ");
+            }
+        }
+        post.append("\n\n");
+    }
+
+    private static void list(StringBuilder post, Random random, int items) {
+        for (int i = 0; i < items; i++) {
+            post.append("- ").append(WORDS[random.nextInt(WORDS.length)]).append(' ')
+                    .append(WORDS[random.nextInt(WORDS.length)]).append('\n');
+        }
+        post.append('\n');
+    }
+
+    private static void table(StringBuilder post, Random random, int rows) {
+        post.append("| Name | Value | Note |\n|------|-------|------|\n");
+        for (int i = 0; i < rows; i++) {
+            post.append("| ").append(WORDS[random.nextInt(WORDS.length)])
+                    .append(" | ").append(random.nextInt(1000))
+                    .append(" | ").append(WORDS[random.nextInt(WORDS.length)]).append(" |\n");
+        }
+        post.append('\n');
+    }
+
+    private static void code(StringBuilder post, String language, String source) {
+        post.append("```").append(language).append('\n').append(source).append("```\n\n");
+    }
+
+    private static final String JAVA = """
+            @Service
+            public class OrderService {
+                private static final int LIMIT = 100; // upper bound
+                private final Map<Long, List<String>> cache = new ConcurrentHashMap<>();
+
+                /** Totals per customer, largest first */
+                public List<Map.Entry<String, Long>> totals(List<Order> orders) {
+                    return orders.stream()
+                            .filter(o -> o.amount() > 0 && !"cancelled".equals(o.status()))
+                            .collect(Collectors.groupingBy(Order::customer, Collectors.summingLong(Order::amount)))
+                            .entrySet().stream()
+                            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                            .limit(LIMIT)
+                            .toList();
+                }
+            }
+            """;
+
+    private static final String YAML = """
+            spring:
+              datasource:
+                url: jdbc:postgresql://localhost:5432/app  # local database
+                hikari:
+                  maximum-pool-size: 10
+                  connection-timeout: 5000
+              threads:
+                virtual:
+                  enabled: true
+            """;
+
+    private static final String SQL = """
+            SELECT p.id, p.title, COUNT(*) AS photo_count
+            FROM photos p
+            JOIN photo_blobs b ON b.image_path = p.image_path
+            WHERE p.tag_list @> ARRAY['sea']::text[]
+              AND p.created_at > NOW() - INTERVAL '30 days'
+            GROUP BY p.id, p.title
+            ORDER BY photo_count DESC
+            LIMIT 20; -- top photos
+            """;
+
+    private static final String BASH = """
+            #!/bin/bash
+            for file in "$@"; do
+              if [ -f "$file" ]; then
+                gzip -k -9 "$file" && echo "compressed $file"
+              fi
+            done
+            docker compose up -d postgres
+            """;
+}
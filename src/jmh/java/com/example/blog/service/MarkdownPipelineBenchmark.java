@@ -0,0 +1,91 @@
+package com.example.blog.service;
+
+import com.example.blog.config.BlogProperties;
+import com.vladsch.flexmark.util.ast.Document;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of each stage of post loading and rendering, measured separately so a slowdown can be traced
+ * to front matter, summary extraction, flexmark, or the sanitizer.
+ * Run with {@code ./gradlew jmh}; the GC profiler adds allocation per operation (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarkdownPipelineBenchmark {
+
+    @Param({"small", "large", "code"})
+    public String post;
+
+    private MarkdownPostService markdownPostService;
+    private HtmlSanitizerService sanitizerService;
+
+    private String content;
+    private String body;
+    private Document document;
+    private String html;
+
+    @Setup
+    public void setUp() {
+        sanitizerService = new HtmlSanitizerService();
+        // Not started as a bean, so no posts are loaded; only the configured parser and renderer are used
+        markdownPostService = new MarkdownPostService(new PathMatchingResourcePatternResolver(), sanitizerService,
+                new PostRenderCache(), new BlogProperties(), new SyntaxHighlighterService(), new SimpleMeterRegistry());
+
+        content = BenchmarkPosts.generate(post);
+        body = MarkdownPostService.splitFrontMatter(content)[1];
+        document = markdownPostService.parseMarkdown(body);
+        html = markdownPostService.renderMarkdown(document);
+    }
+
+    @Benchmark
+    public Map<String, Object> frontMatter() {
+        return MarkdownPostService.parseFrontMatter(MarkdownPostService.splitFrontMatter(content)[0]);
+    }
+
+    @Benchmark
+    public String extractFirstParagraph() {
+        return MarkdownPostService.extractFirstParagraph(body, 300);
+    }
+
+    @Benchmark
+    public Document parse() {
+        return markdownPostService.parseMarkdown(body);
+    }
+
+    @Benchmark
+    public String render() {
+        return markdownPostService.renderMarkdown(document);
+    }
+
+    @Benchmark
+    public String sanitize() {
+        return sanitizerService.sanitize(html);
+    }
+
+    /**
+     * What a render cache miss costs: parse + render + sanitize
+     */
+    @Benchmark
+    public String fullPipeline() {
+        return sanitizerService.sanitize(markdownPostService.renderMarkdown(markdownPostService.parseMarkdown(body)));
+    }
+}
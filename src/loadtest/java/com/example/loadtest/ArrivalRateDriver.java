@@ -0,0 +1,155 @@
+package com.example.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: each scenario issues requests on a fixed schedule whether or not earlier ones finished.
+ * Latency is measured from the scheduled send time, so a stalled server shows up as queueing delay instead of
+ * silently lowering the request rate (no coordinated omission).
+ */
+final class ArrivalRateDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor();
+
+    ArrivalRateDriver() {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(requests)
+                .build();
+    }
+
+    /**
+     * Run every scenario at its rate for the given time and wait for outstanding requests
+     */
+    void run(List<Scenario> scenarios, Duration duration) throws InterruptedException {
+        scenarios.forEach(Scenario::reset);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        List<Thread> schedulers = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            if (scenario.rate() <= 0) {
+                continue;
+            }
+            schedulers.add(Thread.ofPlatform().name("schedule-" + scenario.name()).start(() -> schedule(scenario, start, end)));
+        }
+        for (Thread scheduler : schedulers) {
+            scheduler.join();
+        }
+        // Requests still in flight count towards this run
+        long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (scenarios.stream().anyMatch(s -> s.inFlight.sum() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        scenarios.forEach(s -> s.elapsedNanos = System.nanoTime() - start);
+    }
+
+    private void schedule(Scenario scenario, long start, long end) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / scenario.rate());
+        // Stagger scenarios so their first requests do not all land at once
+        long next = start + ThreadLocalRandom.current().nextLong(interval);
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            long intended = next;
+            scenario.inFlight.increment();
+            requests.execute(() -> send(scenario, intended));
+            next += interval;
+        }
+    }
+
+    private void send(Scenario scenario, long intended) {
+        try {
+            HttpRequest request = scenario.requests().apply(ThreadLocalRandom.current());
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long latency = System.nanoTime() - intended;
+            scenario.latency.recordValue(latency);
+            if (response.statusCode() >= 400) {
+                scenario.errors.increment();
+            }
+        } catch (Exception e) {
+            scenario.latency.recordValue(System.nanoTime() - intended);
+            scenario.errors.increment();
+        } finally {
+            scenario.inFlight.decrement();
+        }
+    }
+
+    void close() {
+        requests.shutdownNow();
+    }
+
+    /**
+     * One endpoint under load
+     */
+    static final class Scenario {
+
+        private final String name;
+        private final double rate;
+        private final Function<ThreadLocalRandom, HttpRequest> requests;
+        // Nanoseconds, 3 significant digits, auto-resizing
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder inFlight = new LongAdder();
+        private volatile long elapsedNanos;
+
+        Scenario(String name, double rate, Function<ThreadLocalRandom, HttpRequest> requests) {
+            this.name = name;
+            this.rate = rate;
+            this.requests = requests;
+        }
+
+        String name() {
+            return name;
+        }
+
+        double rate() {
+            return rate;
+        }
+
+        Function<ThreadLocalRandom, HttpRequest> requests() {
+            return requests;
+        }
+
+        Histogram latency() {
+            return latency;
+        }
+
+        long errors() {
+            return errors.sum();
+        }
+
+        long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        void reset() {
+            latency.reset();
+            errors.reset();
+            elapsedNanos = 0;
+        }
+    }
+}
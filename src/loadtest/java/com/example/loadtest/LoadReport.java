@@ -0,0 +1,161 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Histogram files, a JSON summary, and a markdown comparison against a stored baseline
+ */
+final class LoadReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Differences below this are noise regardless of the percentage
+     */
+    private static final double MIN_REGRESSION_MILLIS = 1.0;
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadReport() {
+    }
+
+    /**
+     * Latency summary of one scenario, in milliseconds
+     */
+    record ScenarioSummary(String name, double targetRate, double achievedRate, long requests, long errors,
+                           double mean, double p50, double p90, double p99, double p999, double max) {
+
+        Map<String, Double> percentiles() {
+            Map<String, Double> values = new LinkedHashMap<>();
+            values.put("p50", p50);
+            values.put("p90", p90);
+            values.put("p99", p99);
+            values.put("p99.9", p999);
+            values.put("max", max);
+            return values;
+        }
+    }
+
+    record Summary(LoadTestOptions options, List<ScenarioSummary> scenarios) {
+    }
+
+    static List<ScenarioSummary> summarize(List<ArrivalRateDriver.Scenario> scenarios) {
+        List<ScenarioSummary> summaries = new ArrayList<>();
+        for (ArrivalRateDriver.Scenario scenario : scenarios) {
+            Histogram h = scenario.latency();
+            if (h.getTotalCount() == 0) {
+                continue;
+            }
+            double seconds = scenario.elapsedNanos() / 1e9;
+            summaries.add(new ScenarioSummary(scenario.name(), scenario.rate(), h.getTotalCount() / seconds,
+                    h.getTotalCount(), scenario.errors(),
+                    h.getMean() / NANOS_PER_MILLI,
+                    millis(h, 50), millis(h, 90), millis(h, 99), millis(h, 99.9),
+                    h.getMaxValue() / NANOS_PER_MILLI));
+        }
+        return summaries;
+    }
+
+    /**
+     * Write {@code <scenario>.hgrm} percentile distributions (ms) and summary.json
+     */
+    static void write(Path outputDir, LoadTestOptions options, List<ArrivalRateDriver.Scenario> scenarios,
+                      List<ScenarioSummary> summaries) throws IOException {
+        Files.createDirectories(outputDir);
+        for (ArrivalRateDriver.Scenario scenario : scenarios) {
+            if (scenario.latency().getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(outputDir.resolve(scenario.name() + ".hgrm")))) {
+                scenario.latency().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+        JSON.writeValue(outputDir.resolve("summary.json").toFile(), new Summary(options, summaries));
+    }
+
+    static void saveBaseline(Path baseline, List<ScenarioSummary> summaries) throws IOException {
+        if (baseline.getParent() != null) {
+            Files.createDirectories(baseline.getParent());
+        }
+        JSON.writeValue(baseline.toFile(), Map.of("scenarios", summaries));
+    }
+
+    /**
+     * Markdown table of this run against the baseline; returns the number of regressions found
+     */
+    static int compare(Path baseline, List<ScenarioSummary> current, double thresholdPercent, Path reportFile) throws IOException {
+        Map<String, Map<String, Double>> previous = new LinkedHashMap<>();
+        if (Files.exists(baseline)) {
+            for (var node : JSON.readTree(baseline.toFile()).path("scenarios")) {
+                Map<String, Double> values = new LinkedHashMap<>();
+                values.put("p50", node.path("p50").asDouble());
+                values.put("p90", node.path("p90").asDouble());
+                values.put("p99", node.path("p99").asDouble());
+                values.put("p99.9", node.path("p999").asDouble());
+                values.put("max", node.path("max").asDouble());
+                previous.put(node.path("name").asText(), values);
+            }
+        }
+
+        StringBuilder report = new StringBuilder("# Load test report\n\n");
+        report.append(previous.isEmpty()
+                ? "No baseline at `" + baseline + "`; showing this run only.\n\n"
+                : "Baseline: `" + baseline + "`, regression threshold " + thresholdPercent + "%.\n\n");
+        report.append("| Scenario | Rate (req/s) | Requests | Errors | Percentile | Current (ms) | Baseline (ms) | Change |\n")
+                .append("|---|---|---|---|---|---|---|---|\n");
+
+        int regressions = 0;
+        for (ScenarioSummary summary : current) {
+            Map<String, Double> base = previous.get(summary.name());
+            boolean first = true;
+            for (Map.Entry<String, Double> percentile : summary.percentiles().entrySet()) {
+                String change = "";
+                String baseValue = "";
+                // max is a single sample; shown for context but never flagged
+                if (base != null && base.get(percentile.getKey()) > 0) {
+                    double before = base.get(percentile.getKey());
+                    double delta = (percentile.getValue() - before) / before * 100;
+                    baseValue = String.format("%.2f", before);
+                    change = String.format("%+.1f%%", delta);
+                    if (!percentile.getKey().equals("max") && delta > thresholdPercent
+                            && percentile.getValue() - before > MIN_REGRESSION_MILLIS) {
+                        change += " **REGRESSION**";
+                        regressions++;
+                    }
+                }
+                report.append("| ").append(first ? summary.name() : "")
+                        .append(" | ").append(first ? String.format("%.1f / %.1f", summary.achievedRate(), summary.targetRate()) : "")
+                        .append(" | ").append(first ? summary.requests() : "")
+                        .append(" | ").append(first ? summary.errors() : "")
+                        .append(" | ").append(percentile.getKey())
+                        .append(" | ").append(String.format("%.2f", percentile.getValue()))
+                        .append(" | ").append(baseValue)
+                        .append(" | ").append(change).append(" |\n");
+                first = false;
+            }
+        }
+        report.append('\n').append(regressions == 0 ? "No regressions.\n" : regressions + " regression(s).\n");
+
+        Files.writeString(reportFile, report);
+        System.out.println(report);
+        return regressions;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.loadtest;
+
+import com.example.Application;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * End-to-end load test: embedded PostgreSQL seeded from the production schema, the application in-process with
+ * the prod profile, and fixed arrival rates against the blog and photo pages plus the raw image upload.
+ *
+ * Writes HDR histograms, summary.json and report.md (compared with the baseline) to the output directory.
+ */
+public final class LoadTest {
+
+    private static final int SAMPLE_PHOTOS = 10;
+    private static final int UPLOAD_IMAGES = 16;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Path workDir = Files.createTempDirectory("loadtest-");
+
+        log("Starting embedded PostgreSQL");
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            log("Seeding %d users, %d photos", options.users(), options.photos());
+            SeedData.seedDatabase(postgres.getPostgresDatabase(), options.users(), options.photos());
+            List<String> slugs = SeedData.writePosts(workDir.resolve("posts"), options.posts());
+            List<byte[]> images = SeedData.uploadImages(UPLOAD_IMAGES);
+
+            ConfigurableApplicationContext app = SpringApplication.run(Application.class,
+                    "--spring.profiles.active=prod",
+                    "--server.port=0",
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=",
+                    "--blog.content-dir=" + workDir.resolve("posts"),
+                    "--blog.watch-content-dir=false",
+                    "--photo.upload-dir=" + workDir.resolve("uploads"),
+                    // Request logging would dominate the measurements
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.example=WARN",
+                    "--logging.level.org.springframework.web=WARN",
+                    "--logging.level.org.mybatis=WARN",
+                    "--logging.level.java.sql=WARN",
+                    "--logging.level.org.thymeleaf=ERROR");
+            try {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                List<ArrivalRateDriver.Scenario> scenarios = scenarios(options, "http://localhost:" + port, slugs, images);
+
+                ArrivalRateDriver driver = new ArrivalRateDriver();
+                try {
+                    log("Warming up for %s", options.warmup());
+                    driver.run(scenarios, options.warmup());
+                    log("Measuring for %s", options.duration());
+                    driver.run(scenarios, options.duration());
+                } finally {
+                    driver.close();
+                }
+
+                List<LoadReport.ScenarioSummary> summaries = LoadReport.summarize(scenarios);
+                LoadReport.write(options.outputDir(), options, scenarios, summaries);
+                int regressions = LoadReport.compare(options.baseline(), summaries, options.threshold(),
+                        options.outputDir().resolve("report.md"));
+                if (options.saveBaseline()) {
+                    LoadReport.saveBaseline(options.baseline(), summaries);
+                    log("Saved baseline to %s", options.baseline());
+                }
+                log("Histograms and report written to %s", options.outputDir().toAbsolutePath());
+                if (regressions > 0 && options.failOnRegression()) {
+                    System.exit(1);
+                }
+            } finally {
+                app.close();
+            }
+        }
+    }
+
+    private static List<ArrivalRateDriver.Scenario> scenarios(LoadTestOptions options, String baseUrl,
+                                                              List<String> slugs, List<byte[]> images) {
+        int photoCount = SAMPLE_PHOTOS + options.photos();
+        List<ArrivalRateDriver.Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new ArrivalRateDriver.Scenario(LoadTestOptions.BLOG_HOME, options.rates().get(LoadTestOptions.BLOG_HOME),
+                random -> get(baseUrl + "/blog")));
+        scenarios.add(new ArrivalRateDriver.Scenario(LoadTestOptions.BLOG_POST, options.rates().get(LoadTestOptions.BLOG_POST),
+                random -> get(baseUrl + "/blog/posts/" + slugs.get(random.nextInt(slugs.size())))));
+        scenarios.add(new ArrivalRateDriver.Scenario(LoadTestOptions.PHOTO_LIST, options.rates().get(LoadTestOptions.PHOTO_LIST),
+                random -> get(baseUrl + "/photos")));
+        scenarios.add(new ArrivalRateDriver.Scenario(LoadTestOptions.PHOTO_DETAIL, options.rates().get(LoadTestOptions.PHOTO_DETAIL),
+                random -> get(baseUrl + "/photos/" + (1 + random.nextInt(photoCount)))));
+        scenarios.add(new ArrivalRateDriver.Scenario(LoadTestOptions.PHOTO_UPLOAD, options.rates().get(LoadTestOptions.PHOTO_UPLOAD),
+                random -> HttpRequest.newBuilder(URI.create(baseUrl + "/photos/" + (1 + random.nextInt(photoCount)) + "/image"))
+                        .timeout(Duration.ofSeconds(30))
+                        .header("Content-Type", "image/jpeg")
+                        .PUT(HttpRequest.BodyPublishers.ofByteArray(images.get(random.nextInt(images.size()))))
+                        .build()));
+        return scenarios;
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[loadtest] " + format + "%n", args);
+    }
+}
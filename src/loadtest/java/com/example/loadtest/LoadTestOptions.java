@@ -0,0 +1,87 @@
+package com.example.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, given as {@code key=value} arguments (./gradlew loadTest -Ploadtest.args="photos=20000 duration=120s")
+ *
+ * @param users          seeded users
+ * @param photos         seeded photos (on top of the sample rows in 01-init.sql)
+ * @param posts          generated markdown posts
+ * @param warmup         load before measuring (JIT, caches, connection pool)
+ * @param duration       measured load
+ * @param rates          requests per second per scenario name; 0 disables a scenario
+ * @param outputDir      histograms and reports
+ * @param baseline       summary to compare against
+ * @param saveBaseline   store this run's summary as the new baseline
+ * @param threshold      allowed percentile increase over the baseline, in percent
+ * @param failOnRegression exit with status 1 when a regression is reported
+ */
+record LoadTestOptions(int users, int photos, int posts, Duration warmup, Duration duration,
+                       Map<String, Double> rates, Path outputDir, Path baseline, boolean saveBaseline,
+                       double threshold, boolean failOnRegression) {
+
+    static final String BLOG_HOME = "blog-home";
+    static final String BLOG_POST = "blog-post";
+    static final String PHOTO_LIST = "photo-list";
+    static final String PHOTO_DETAIL = "photo-detail";
+    static final String PHOTO_UPLOAD = "photo-upload";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            values.put(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+        }
+
+        Map<String, Double> rates = new LinkedHashMap<>();
+        rates.put(BLOG_HOME, rate(values, BLOG_HOME, 20));
+        rates.put(BLOG_POST, rate(values, BLOG_POST, 50));
+        rates.put(PHOTO_LIST, rate(values, PHOTO_LIST, 20));
+        rates.put(PHOTO_DETAIL, rate(values, PHOTO_DETAIL, 50));
+        rates.put(PHOTO_UPLOAD, rate(values, PHOTO_UPLOAD, 1));
+
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("users", "10000")),
+                Integer.parseInt(values.getOrDefault("photos", "5000")),
+                Integer.parseInt(values.getOrDefault("posts", "300")),
+                duration(values.getOrDefault("warmup", "15s")),
+                duration(values.getOrDefault("duration", "60s")),
+                rates,
+                Path.of(values.getOrDefault("out", "build/loadtest")),
+                Path.of(values.getOrDefault("baseline", "src/loadtest/baseline.json")),
+                Boolean.parseBoolean(values.getOrDefault("saveBaseline", "false")),
+                Double.parseDouble(values.getOrDefault("threshold", "10")),
+                Boolean.parseBoolean(values.getOrDefault("failOnRegression", "false")));
+    }
+
+    private static double rate(Map<String, String> values, String scenario, double defaultRate) {
+        return Double.parseDouble(values.getOrDefault("rate." + scenario, Double.toString(defaultRate)));
+    }
+
+    /**
+     * 90s, 2m, 500ms or ISO-8601 (PT1M)
+     */
+    private static Duration duration(String value) {
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unknown duration: " + value);
+        };
+    }
+}
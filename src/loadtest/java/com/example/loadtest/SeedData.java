@@ -0,0 +1,117 @@
+package com.example.loadtest;
+
+import javax.imageio.ImageIO;
+import javax.sql.DataSource;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Test data: the production schema script plus a scaled-up seed, generated posts and upload images
+ */
+final class SeedData {
+
+    private static final Path INIT_SCRIPT = Path.of("init-scripts/01-init.sql");
+
+    private static final String[] TOPICS = {"Java", "Spring", "Docker", "PostgreSQL", "Performance", "Kotlin"};
+
+    private SeedData() {
+    }
+
+    /**
+     * Run init-scripts/01-init.sql unchanged, then seed.sql with the requested row counts
+     */
+    static void seedDatabase(DataSource dataSource, int users, int photos) throws IOException, SQLException {
+        String seed;
+        try (InputStream in = SeedData.class.getResourceAsStream("/seed.sql")) {
+            seed = new String(in.readAllBytes(), StandardCharsets.UTF_8)
+                    .replace("${users}", Integer.toString(users))
+                    .replace("${photos}", Integer.toString(photos));
+        }
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            // Sent as one simple query, so dollar-quoted function bodies need no statement splitting
+            statement.execute(Files.readString(INIT_SCRIPT));
+            statement.execute(seed);
+        }
+    }
+
+    /**
+     * Write markdown posts with front matter, prose, a table and code; returns their slugs
+     */
+    static List<String> writePosts(Path directory, int count) throws IOException {
+        Files.createDirectories(directory);
+        Random random = new Random(7);
+        List<String> slugs = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String slug = "load-post-" + i;
+            String topic = TOPICS[i % TOPICS.length];
+            StringBuilder post = new StringBuilder()
+                    .append("---\n")
+                    .append("title: Load test post ").append(i).append('\n')
+                    .append("date: 2025-").append(String.format("%02d-%02d", 1 + i % 12, 1 + i % 28)).append('\n')
+                    .append("tags:\n  - ").append(topic).append("\n  - LoadTest\n")
+                    .append("category: ").append(topic.toUpperCase(Locale.ROOT)).append('\n')
+                    .append("---\n\n");
+            int sections = 3 + random.nextInt(8);
+            for (int s = 1; s <= sections; s++) {
+                post.append("## ").append(topic).append(" section ").append(s).append("\n\n")
+                        .append("This paragraph about **").append(topic).append("** exists to give the renderer ")
+                        .append("realistic work: `inline code`, [links](https://example.com/").append(i)
+                        .append(") and *emphasis* across several sentences. ".repeat(1 + random.nextInt(4)))
+                        .append("\n\n");
+                if (s % 3 == 0) {
+                    post.append("| Key | Value |\n|-----|-------|\n| a | ").append(s).append(" |\n| b | ")
+                            .append(i).append(" |\n\n");
+                }
+                if (s % 2 == 0) {
+                    post.append("```java\nList<String> names = items.stream()\n        .map(Item::name)\n")
+                            .append("        .filter(n -> n.length() > ").append(s).append(")\n        .toList();\n```\n\n");
+                }
+            }
+            Files.writeString(directory.resolve(slug + ".md"), post);
+            slugs.add(slug);
+        }
+        return slugs;
+    }
+
+    /**
+     * Distinct JPEGs (so uploads are not all deduplicated to one file), large enough to produce derivatives
+     */
+    static List<byte[]> uploadImages(int count) throws IOException {
+        Random random = new Random(11);
+        List<byte[]> images = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BufferedImage image = new BufferedImage(1600, 1067, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            try {
+                g.setPaint(new GradientPaint(0, 0, new Color(random.nextInt(0xFFFFFF)),
+                        1600, 1067, new Color(random.nextInt(0xFFFFFF))));
+                g.fillRect(0, 0, 1600, 1067);
+                for (int r = 0; r < 40; r++) {
+                    g.setColor(new Color(random.nextInt(0xFFFFFF)));
+                    g.fillOval(random.nextInt(1600), random.nextInt(1067), 20 + random.nextInt(300), 20 + random.nextInt(300));
+                }
+            } finally {
+                g.dispose();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpg", out);
+            images.add(out.toByteArray());
+        }
+        return images;
+    }
+}
@@ -0,0 +1,26 @@
+-- Scaled-up data for load tests; runs after init-scripts/01-init.sql (${users} / ${photos} are substituted)
+
+INSERT INTO users (username, email, full_name, phone_number, created_at)
+SELECT 'load_user_' || g,
+       'load_user_' || g || '@example.com',
+       'Load User ' || g,
+       '010-' || lpad((g % 10000)::text, 4, '0') || '-' || lpad(((g * 7) % 10000)::text, 4, '0'),
+       NOW() - make_interval(mins => g)
+FROM generate_series(1, ${users}) AS g
+ON CONFLICT DO NOTHING;
+
+-- Same shape as the sample photos: a few genres / colors and overlapping comma-separated tags
+INSERT INTO photos (title, description, tags, genre, color, shot_date, image_path, created_at)
+SELECT 'Load photo ' || g,
+       'Generated photo ' || g || ' for load testing',
+       (ARRAY['sunset,mountains,nature', 'city,night,lights', 'forest,nature,trees', 'ocean,sea,waves',
+              'coffee,interior,vintage', 'desert,sand,landscape', 'autumn,leaves,fall'])[1 + g % 7],
+       (ARRAY['Landscape', 'Urban', 'Nature', 'Seascape', 'Interior'])[1 + g % 5],
+       (ARRAY['Orange', 'Blue', 'Green', 'Brown', 'Yellow', 'Purple', 'Red', 'White'])[1 + g % 8],
+       DATE '2024-01-01' + (g % 365),
+       NULL,
+       NOW() - make_interval(mins => g)
+FROM generate_series(1, ${photos}) AS g;
+
+ANALYZE users;
+ANALYZE photos;
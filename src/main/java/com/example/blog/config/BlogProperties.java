@@ -0,0 +1,218 @@
+package com.example.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for markdown blog settings
+ */
+@Component
+@ConfigurationProperties(prefix = "blog")
+public class BlogProperties {
+
+    /**
+     * Optional directory of extra *.md posts, read in addition to classpath:content/posts
+     */
+    private String contentDir;
+
+    /**
+     * Watch contentDir and re-index changed posts without a restart
+     */
+    private boolean watchContentDir = true;
+
+    /**
+     * Posts per page on the blog home, category and tag listings
+     */
+    private int pageSize = 20;
+
+    private final Loader loader = new Loader();
+    private final RenderCache renderCache = new RenderCache();
+    private final Http http = new Http();
+    private final PageCacheSettings pageCache = new PageCacheSettings();
+
+    public String getContentDir() {
+        return contentDir;
+    }
+
+    public void setContentDir(String contentDir) {
+        this.contentDir = contentDir;
+    }
+
+    /**
+     * contentDir as a path, or null when not configured
+     */
+    public Path getContentDirPath() {
+        return contentDir == null || contentDir.isBlank() ? null : Path.of(contentDir);
+    }
+
+    public boolean isWatchContentDir() {
+        return watchContentDir;
+    }
+
+    public void setWatchContentDir(boolean watchContentDir) {
+        this.watchContentDir = watchContentDir;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public Loader getLoader() {
+        return loader;
+    }
+
+    public RenderCache getRenderCache() {
+        return renderCache;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public PageCacheSettings getPageCache() {
+        return pageCache;
+    }
+
+    /**
+     * Full-page output cache for rendered blog views (opt-in)
+     */
+    public static class PageCacheSettings {
+
+        private boolean enabled = false;
+
+        /**
+         * Total bytes held, counting both the plain and the gzip copy of each page
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(32);
+
+        private int maxEntries = 2000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    /**
+     * HTTP caching for blog pages (ETag / Last-Modified are always sent)
+     */
+    public static class Http {
+
+        /**
+         * Cache-Control max-age for browsers and shared caches
+         */
+        private Duration maxAge = Duration.ofMinutes(1);
+
+        /**
+         * How long a CDN may serve a stale page while it revalidates in the background
+         */
+        private Duration staleWhileRevalidate = Duration.ofMinutes(10);
+
+        public Duration getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(Duration maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public Duration getStaleWhileRevalidate() {
+            return staleWhileRevalidate;
+        }
+
+        public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+        }
+    }
+
+    /**
+     * Post loading pipeline settings
+     */
+    public static class Loader {
+
+        /**
+         * Read, parse and pre-render posts on virtual threads
+         */
+        private boolean parallel = true;
+
+        public boolean isParallel() {
+            return parallel;
+        }
+
+        public void setParallel(boolean parallel) {
+            this.parallel = parallel;
+        }
+    }
+
+    /**
+     * Rendered (sanitized) HTML cache settings
+     */
+    public static class RenderCache {
+
+        /**
+         * Disable to parse, render and sanitize on every request
+         */
+        private boolean enabled = true;
+
+        /**
+         * Render every post at startup instead of on first request
+         */
+        private boolean eager = true;
+
+        /**
+         * Upper bound for eager rendering at startup; the rest render lazily
+         */
+        private Duration warmUpTimeout = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isEager() {
+            return eager;
+        }
+
+        public void setEager(boolean eager) {
+            this.eager = eager;
+        }
+
+        public Duration getWarmUpTimeout() {
+            return warmUpTimeout;
+        }
+
+        public void setWarmUpTimeout(Duration warmUpTimeout) {
+            this.warmUpTimeout = warmUpTimeout;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.blog.config;
+
+import com.example.blog.service.MarkdownPostService;
+import com.example.blog.service.PageCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves blog pages from {@link PageCache}, skipping the controller, Thymeleaf and compression on a hit.
+ *
+ * Only successful HTML responses that carry an ETag are stored; the blog
+ * controllers set one only for real content, so 404 pages and search results
+ * are never cached. The page is the same for every theme (theme switching is
+ * client-side), so the key is the path plus the query parameters the blog
+ * controllers read. Other parameters do not change the page, so they are left
+ * out of the key; otherwise junk query strings would each get an entry and
+ * push real pages out of the LRU.
+ */
+public class PageCacheFilter extends OncePerRequestFilter {
+
+    /** Request parameters read by the blog controllers (cursor pagination, search query) */
+    private static final List<String> KEY_PARAMETERS = List.of("cursor", "q");
+
+    private final PageCache pageCache;
+    private final MarkdownPostService markdownPostService;
+
+    public PageCacheFilter(PageCache pageCache, MarkdownPostService markdownPostService) {
+        this.pageCache = pageCache;
+        this.markdownPostService = markdownPostService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !"GET".equals(method) && !"HEAD".equals(method);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String version = markdownPostService.getListingETag();
+        String key = cacheKey(request);
+
+        PageCache.Page cached = pageCache.get(key, version);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        if (!isCacheable(wrapper)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] body = wrapper.getContentAsByteArray();
+        PageCache.Page page = new PageCache.Page(version, wrapper.getContentType(),
+                wrapper.getHeader(HttpHeaders.ETAG), wrapper.getHeader(HttpHeaders.LAST_MODIFIED),
+                wrapper.getHeader(HttpHeaders.CACHE_CONTROL),
+                (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), body, gzip(body));
+        pageCache.put(key, page);
+
+        // Drop the buffered copy and send the compressed variant directly
+        wrapper.resetBuffer();
+        writeBody(page, request, response);
+    }
+
+    private boolean isCacheable(ContentCachingResponseWrapper wrapper) {
+        String contentType = wrapper.getContentType();
+        return wrapper.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null && contentType.startsWith("text/html")
+                && wrapper.getHeader(HttpHeaders.ETAG) != null
+                && wrapper.getHeader(HttpHeaders.SET_COOKIE) == null;
+    }
+
+    private void write(PageCache.Page page, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        // No handler runs on a hit, so tag http.server.requests with the route the page came from
+        if (page.route() != null) {
+            ServerHttpObservationFilter.findObservationContext(request)
+                    .ifPresent(context -> context.setPathPattern(page.route()));
+        }
+        // Set before the 304 check so shared caches also see that the representation depends on Accept-Encoding
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (page.cacheControl() != null) response.setHeader(HttpHeaders.CACHE_CONTROL, page.cacheControl());
+        if (page.lastModified() != null) response.setHeader(HttpHeaders.LAST_MODIFIED, page.lastModified());
+        if (new ServletWebRequest(request, response).checkNotModified(page.etag())) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ETAG, page.etag());
+        response.setContentType(page.contentType());
+        writeBody(page, request, response);
+    }
+
+    private void writeBody(PageCache.Page page, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] bytes = page.body();
+        if (acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            bytes = page.gzipBody();
+        }
+        response.setContentLength(bytes.length);
+        if (!"HEAD".equals(request.getMethod())) {
+            response.getOutputStream().write(bytes);
+        }
+    }
+
+    /**
+     * Whether Accept-Encoding lists gzip (or *) with a non-zero q-value; "gzip;q=0" is an explicit refusal
+     */
+    static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        if (headers == null) {
+            return false;
+        }
+        Float gzip = null;
+        Float wildcard = null;
+        while (headers.hasMoreElements()) {
+            for (String token : headers.nextElement().split(",")) {
+                String[] parts = token.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                    gzip = quality(parts);
+                } else if (coding.equals("*")) {
+                    wildcard = quality(parts);
+                }
+            }
+        }
+        Float q = gzip != null ? gzip : wildcard;
+        return q != null && q > 0;
+    }
+
+    /**
+     * q parameter of an Accept-Encoding entry (1 when absent, 0 when unreadable)
+     */
+    private static float quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.charAt(1) == '=') {
+                try {
+                    return Float.parseFloat(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static String cacheKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        char separator = '?';
+        for (String name : KEY_PARAMETERS) {
+            String[] values = request.getParameterValues(name);
+            if (values == null) {
+                continue;
+            }
+            // Same value the controller binds: repeated parameters are joined with commas
+            key.append(separator).append(name).append('=')
+                    .append(URLEncoder.encode(String.join(",", values), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        return key.toString();
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
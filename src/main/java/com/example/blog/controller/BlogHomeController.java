@@ -1,12 +1,12 @@
 package com.example.blog.controller;
 
-import com.example.blog.domain.PostMeta;
+import com.example.blog.domain.PostPage;
 import com.example.blog.service.MarkdownPostService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
-
-import java.util.List;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
 @Controller
 public class BlogHomeController {
@@ -18,11 +18,20 @@ public class BlogHomeController {
     }
 
     @GetMapping("/blog")
-    public String home(Model model) {
-        List<PostMeta> posts = markdownPostService.listPosts();
-
-        model.addAttribute("posts", posts);
-        model.addAttribute("totalCount", posts.size());
+    public String home(@RequestParam(value = "cursor", required = false) String cursor,
+                       Model model, WebRequest webRequest) {
+        if (webRequest.checkNotModified(markdownPostService.getListingETag(),
+                markdownPostService.getLastModified().toEpochMilli())) {
+            return null;
+        }
+
+        PostPage page = markdownPostService.listPosts(cursor);
+
+        model.addAttribute("posts", page.getPosts());
+        model.addAttribute("totalCount", page.getTotalCount());
+        model.addAttribute("cursor", cursor);
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("pagePath", "/blog");
         model.addAttribute("pageTitle", "HOT GAMJA LAB - 기술 블로그");
 
         return "blog/index";
@@ -1,13 +1,16 @@
 package com.example.blog.controller;
 
-import com.example.blog.domain.PostMeta;
+import com.example.blog.domain.PostPage;
 import com.example.blog.service.MarkdownPostService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.util.UriUtils;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 
 @Controller
 public class CategoryController {
@@ -19,28 +22,57 @@ public class CategoryController {
     }
 
     @GetMapping("/blog/categories/{category}")
-    public String postsByCategory(@PathVariable String category, Model model) {
-        List<PostMeta> posts = markdownPostService.listByCategory(category);
+    public String postsByCategory(@PathVariable String category,
+                                  @RequestParam(value = "cursor", required = false) String cursor,
+                                  Model model, WebRequest webRequest) {
+        if (notModified(webRequest)) {
+            return null;
+        }
 
-        model.addAttribute("posts", posts);
+        PostPage page = markdownPostService.listByCategory(category, cursor);
+
+        model.addAttribute("posts", page.getPosts());
         model.addAttribute("filterType", "category");
         model.addAttribute("filterValue", category);
-        model.addAttribute("totalCount", posts.size());
+        model.addAttribute("totalCount", page.getTotalCount());
+        addPaging(model, cursor, page, "/blog/categories/" + encode(category));
         model.addAttribute("pageTitle", category + " - HOT GAMJA LAB");
 
         return "blog/index";
     }
 
     @GetMapping("/blog/tags/{tag}")
-    public String postsByTag(@PathVariable String tag, Model model) {
-        List<PostMeta> posts = markdownPostService.listByTag(tag);
+    public String postsByTag(@PathVariable String tag,
+                             @RequestParam(value = "cursor", required = false) String cursor,
+                             Model model, WebRequest webRequest) {
+        if (notModified(webRequest)) {
+            return null;
+        }
+
+        PostPage page = markdownPostService.listByTag(tag, cursor);
 
-        model.addAttribute("posts", posts);
+        model.addAttribute("posts", page.getPosts());
         model.addAttribute("filterType", "tag");
         model.addAttribute("filterValue", tag);
-        model.addAttribute("totalCount", posts.size());
+        model.addAttribute("totalCount", page.getTotalCount());
+        addPaging(model, cursor, page, "/blog/tags/" + encode(tag));
         model.addAttribute("pageTitle", "#" + tag + " - HOT GAMJA LAB");
 
         return "blog/index";
     }
+
+    private void addPaging(Model model, String cursor, PostPage page, String pagePath) {
+        model.addAttribute("cursor", cursor);
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("pagePath", pagePath);
+    }
+
+    private String encode(String pathSegment) {
+        return UriUtils.encodePathSegment(pathSegment, StandardCharsets.UTF_8);
+    }
+
+    private boolean notModified(WebRequest webRequest) {
+        return webRequest.checkNotModified(markdownPostService.getListingETag(),
+                markdownPostService.getLastModified().toEpochMilli());
+    }
 }
@@ -8,6 +8,7 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,7 +24,12 @@ public class PostController {
     }
 
     @GetMapping("/{slug}")
-    public String postDetail(@PathVariable String slug, Model model) {
+    public String postDetail(@PathVariable String slug, Model model, WebRequest webRequest) {
+        String etag = markdownPostService.getPostETag(slug);
+        if (etag != null && webRequest.checkNotModified(etag, markdownPostService.getLastModified().toEpochMilli())) {
+            return null;
+        }
+
         Optional<RenderedPost> rendered = markdownPostService.renderPost(slug);
 
         if (rendered.isEmpty()) {
@@ -0,0 +1,39 @@
+package com.example.blog.controller;
+
+import com.example.blog.domain.PostMeta;
+import com.example.blog.domain.SearchResult;
+import com.example.blog.service.MarkdownPostService;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@Controller
+public class SearchController {
+
+    private static final int MAX_RESULTS = 50;
+
+    private final MarkdownPostService markdownPostService;
+
+    public SearchController(MarkdownPostService markdownPostService) {
+        this.markdownPostService = markdownPostService;
+    }
+
+    @GetMapping("/blog/search")
+    public String search(@RequestParam(value = "q", required = false) String q, Model model) {
+        String query = q == null ? "" : q.trim();
+        List<PostMeta> posts = markdownPostService.search(query, MAX_RESULTS).stream()
+                .map(SearchResult::getMeta)
+                .toList();
+
+        model.addAttribute("posts", posts);
+        model.addAttribute("filterType", "search");
+        model.addAttribute("filterValue", query);
+        model.addAttribute("totalCount", posts.size());
+        model.addAttribute("pageTitle", (query.isEmpty() ? "Search" : query) + " - HOT GAMJA LAB");
+
+        return "blog/index";
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.blog.domain;
+
+import java.util.List;
+
+/**
+ * One page of a date-sorted post listing
+ */
+public class PostPage {
+
+    private final List<PostMeta> posts;
+    private final String nextCursor;
+    private final int totalCount;
+
+    public PostPage(List<PostMeta> posts, String nextCursor, int totalCount) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+        this.totalCount = totalCount;
+    }
+
+    public List<PostMeta> getPosts() {
+        return posts;
+    }
+
+    /**
+     * Cursor for the following page, or null if this is the last one
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Number of posts in the whole listing, not just this page
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.blog.domain;
+
+public class SearchResult {
+
+    private final PostMeta meta;
+    private final double score;
+
+    public SearchResult(PostMeta meta, double score) {
+        this.meta = meta;
+        this.score = score;
+    }
+
+    public PostMeta getMeta() {
+        return meta;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.blog.service;
+
+import com.example.blog.config.BlogProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the external content directory and re-indexes only the posts that changed.
+ *
+ * Disabled unless blog.content-dir is set. The directory is watched flat
+ * (no subdirectories), matching how posts are discovered.
+ */
+@Component
+public class ContentDirectoryWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentDirectoryWatcher.class);
+
+    private final MarkdownPostService markdownPostService;
+    private final BlogProperties blogProperties;
+
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    public ContentDirectoryWatcher(MarkdownPostService markdownPostService, BlogProperties blogProperties) {
+        this.markdownPostService = markdownPostService;
+        this.blogProperties = blogProperties;
+    }
+
+    @PostConstruct
+    public void start() {
+        Path contentDir = blogProperties.getContentDirPath();
+        if (contentDir == null || !blogProperties.isWatchContentDir()) return;
+        if (!Files.isDirectory(contentDir)) {
+            log.warn("Not watching missing content directory: {}", contentDir);
+            return;
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            contentDir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        } catch (IOException e) {
+            log.error("Failed to watch content directory: {}", contentDir, e);
+            return;
+        }
+
+        watcherThread = Thread.ofPlatform()
+                .name("blog-content-watcher")
+                .daemon(true)
+                .start(() -> watch(contentDir));
+        log.info("Watching content directory: {}", contentDir);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+
+    private void watch(Path contentDir) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    handle(contentDir, event);
+                }
+                if (!key.reset()) {
+                    log.warn("Content directory is no longer accessible: {}", contentDir);
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // shutting down
+        }
+    }
+
+    private void handle(Path contentDir, WatchEvent<?> event) {
+        if (event.kind() == OVERFLOW) {
+            // Events were dropped; we can't know what changed, so rescan everything
+            markdownPostService.reloadAll();
+            return;
+        }
+
+        Path file = contentDir.resolve((Path) event.context());
+        if (!file.getFileName().toString().endsWith(".md")) return;
+
+        try {
+            if (event.kind() == ENTRY_DELETE) {
+                markdownPostService.removePost(file);
+            } else if (Files.isRegularFile(file)) {
+                markdownPostService.reloadPost(file);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to apply content change: {} - {}", file, e.getMessage());
+        }
+    }
+}
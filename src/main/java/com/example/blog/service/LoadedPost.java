@@ -0,0 +1,15 @@
+package com.example.blog.service;
+
+import com.example.blog.domain.PostMeta;
+
+/**
+ * A parsed markdown post: front matter metadata plus the raw markdown body
+ *
+ * @param slug        file name without the .md extension
+ * @param meta        metadata from front matter
+ * @param body        markdown after the front matter block
+ * @param contentHash SHA-256 of the whole file, used to detect changes
+ * @param terms       search terms, tokenized once when the post is parsed
+ */
+record LoadedPost(String slug, PostMeta meta, String body, String contentHash, PostSearchIndex.Terms terms) {
+}
@@ -1,22 +1,30 @@
 package com.example.blog.service;
 
+import com.example.blog.config.BlogProperties;
 import com.example.blog.domain.PostMeta;
+import com.example.blog.domain.PostPage;
 import com.example.blog.domain.RenderedPost;
+import com.example.blog.domain.SearchResult;
 import com.vladsch.flexmark.ast.FencedCodeBlock;
 import com.vladsch.flexmark.ext.tables.TablesExtension;
-import com.vladsch.flexmark.html.AttributeProvider;
 import com.vladsch.flexmark.html.HtmlRenderer;
-import com.vladsch.flexmark.html.IndependentAttributeProviderFactory;
-import com.vladsch.flexmark.html.renderer.AttributablePart;
-import com.vladsch.flexmark.html.renderer.LinkResolverContext;
+import com.vladsch.flexmark.html.HtmlWriter;
+import com.vladsch.flexmark.html.renderer.NodeRenderer;
+import com.vladsch.flexmark.html.renderer.NodeRendererContext;
+import com.vladsch.flexmark.html.renderer.NodeRendererFactory;
+import com.vladsch.flexmark.html.renderer.NodeRenderingHandler;
 import com.vladsch.flexmark.parser.Parser;
-import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.ast.Document;
+import com.vladsch.flexmark.util.data.DataHolder;
 import com.vladsch.flexmark.util.data.MutableDataSet;
-import com.vladsch.flexmark.util.html.MutableAttributes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.stereotype.Service;
@@ -25,38 +33,80 @@ import org.yaml.snakeyaml.Yaml;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.*;
+import java.util.regex.Pattern;
 
 @Service
 public class MarkdownPostService {
 
     private static final Logger log = LoggerFactory.getLogger(MarkdownPostService.class);
 
+    private static final String CLASSPATH_POSTS = "classpath*:content/posts/";
+
+    // Inline markdown stripped from auto-generated summaries
+    private static final Pattern BOLD = Pattern.compile("\\*\\*(.+?)\\*\\*");
+    private static final Pattern ITALIC = Pattern.compile("\\*(.+?)\\*");
+    private static final Pattern INLINE_CODE = Pattern.compile("`(.+?)`");
+    private static final Pattern LINK = Pattern.compile("\\[(.+?)]\\(.+?\\)");
+
+    private static final Pattern LANGUAGE_NAME = Pattern.compile("[A-Za-z0-9_+#.-]+");
+
     private final ResourcePatternResolver resourceResolver;
     private final HtmlSanitizerService sanitizerService;
+    private final PostRenderCache renderCache;
+    private final BlogProperties blogProperties;
     private final Parser markdownParser;
     private final HtmlRenderer htmlRenderer;
-    private final Yaml yaml = new Yaml();
+    private final Timer parseTimer;
+    private final Timer renderTimer;
+    private final Timer sanitizeTimer;
 
-    private List<PostMeta> allMetas = new ArrayList<>();
-    private Map<String, String> markdownBodies = new HashMap<>();
-    private Map<String, PostMeta> metaBySlug = new HashMap<>();
+    // Replaced (never mutated) under the service lock; readers just dereference it
+    private volatile PostSnapshot snapshot = PostSnapshot.EMPTY;
+
+    // Pages also depend on templates, which only change with a deploy, so validators are per boot
+    private final String bootTag = Long.toString(System.currentTimeMillis(), 36);
 
     public MarkdownPostService(ResourcePatternResolver resourceResolver,
-                               HtmlSanitizerService sanitizerService) {
+                               HtmlSanitizerService sanitizerService,
+                               PostRenderCache renderCache,
+                               BlogProperties blogProperties,
+                               SyntaxHighlighterService syntaxHighlighter,
+                               MeterRegistry meterRegistry) {
         this.resourceResolver = resourceResolver;
         this.sanitizerService = sanitizerService;
+        this.renderCache = renderCache;
+        this.blogProperties = blogProperties;
 
         MutableDataSet options = new MutableDataSet();
         options.set(Parser.EXTENSIONS, List.of(TablesExtension.create()));
         this.markdownParser = Parser.builder(options).build();
         this.htmlRenderer = HtmlRenderer.builder(options)
-                .attributeProviderFactory(new CodeLanguageAttributeProvider.Factory())
+                .nodeRendererFactory(new HighlightedCodeBlockRenderer.Factory(syntaxHighlighter))
                 .build();
+
+        // Only cache misses and warm-up reach the pipeline, so these time actual rendering work
+        this.parseTimer = renderPhaseTimer(meterRegistry, "parse");
+        this.renderTimer = renderPhaseTimer(meterRegistry, "render");
+        this.sanitizeTimer = renderPhaseTimer(meterRegistry, "sanitize");
+    }
+
+    private static Timer renderPhaseTimer(MeterRegistry registry, String phase) {
+        return Timer.builder("blog.post.render")
+                .description("Markdown to sanitized HTML, per pipeline phase")
+                .tag("phase", phase)
+                .register(registry);
     }
 
     @PostConstruct
@@ -68,56 +118,277 @@ public class MarkdownPostService {
         }
     }
 
-    private void loadPosts() throws IOException {
-        allMetas.clear();
-        markdownBodies.clear();
-        metaBySlug.clear();
+    /**
+     * Re-read every post from the classpath and the external content directory
+     */
+    public synchronized void reloadAll() {
+        try {
+            loadPosts();
+        } catch (IOException e) {
+            log.error("Failed to reload markdown posts", e);
+        }
+    }
 
-        Resource[] resources = resourceResolver.getResources("classpath*:content/posts/*.md");
-        for (Resource resource : resources) {
-            try {
-                String filename = resource.getFilename();
-                if (filename == null || !filename.endsWith(".md")) continue;
+    /**
+     * Re-parse a single changed file and swap in new indexes; other posts are untouched
+     */
+    public synchronized void reloadPost(Path file) {
+        LoadedPost post = parsePost(new FileSystemResource(file));
+        if (post == null) return;
+
+        LoadedPost previous = snapshot.get(post.slug());
+        if (previous != null && previous.contentHash().equals(post.contentHash())) return;
+
+        Map<String, LoadedPost> posts = snapshot.toMutableMap();
+        posts.put(post.slug(), post);
+        prerender(post);
+        publish(posts);
+        log.info("Reloaded post: {}", post.slug());
+    }
+
+    /**
+     * Drop a deleted file's post, falling back to a bundled classpath post with the same slug
+     */
+    public synchronized void removePost(Path file) {
+        String filename = file.getFileName().toString();
+        if (!filename.endsWith(".md")) return;
+        String slug = filename.substring(0, filename.length() - 3);
+
+        Map<String, LoadedPost> posts = snapshot.toMutableMap();
+        LoadedPost fallback = null;
+        try {
+            for (Resource resource : resourceResolver.getResources(CLASSPATH_POSTS + slug + ".md")) {
+                fallback = parsePost(resource);
+                if (fallback != null) break;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to look up bundled post: {} - {}", slug, e.getMessage());
+        }
+
+        if (fallback != null) {
+            posts.put(slug, fallback);
+            prerender(fallback);
+        } else if (posts.remove(slug) == null) {
+            return;
+        }
+        publish(posts);
+        log.info("Removed post: {}", slug);
+    }
+
+    /**
+     * Load pipeline: discover -> read/parse (parallel) -> pre-render (parallel, bounded) -> index.
+     * New collections are built off to the side and swapped in once at the end.
+     */
+    private synchronized void loadPosts() throws IOException {
+        long started = System.nanoTime();
+        List<Resource> resources = discoverResources();
+        long discovered = System.nanoTime();
+
+        // Later resources (external directory) override bundled posts with the same slug
+        Map<String, LoadedPost> posts = new LinkedHashMap<>();
+        for (LoadedPost post : parseAll(resources)) {
+            posts.put(post.slug(), post);
+        }
+        long parsed = System.nanoTime();
+
+        BlogProperties.RenderCache cacheProps = blogProperties.getRenderCache();
+        if (cacheProps.isEnabled() && cacheProps.isEager()) {
+            warmRenderCache(posts.values(), cacheProps.getWarmUpTimeout());
+        }
+        long rendered = System.nanoTime();
+
+        publish(posts);
+        long indexed = System.nanoTime();
 
-                String slug = filename.substring(0, filename.length() - 3);
+        log.info("Loaded {} markdown posts in {} ms (discover {} ms, parse {} ms, render {} ms, index {} ms)",
+                posts.size(), millis(started, indexed), millis(started, discovered),
+                millis(discovered, parsed), millis(parsed, rendered), millis(rendered, indexed));
+    }
 
-                String content;
-                try (InputStream is = resource.getInputStream()) {
-                    content = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+    private List<Resource> discoverResources() throws IOException {
+        List<Resource> resources = new ArrayList<>(List.of(resourceResolver.getResources(CLASSPATH_POSTS + "*.md")));
+        Path contentDir = blogProperties.getContentDirPath();
+        if (contentDir != null) {
+            if (Files.isDirectory(contentDir)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(contentDir, "*.md")) {
+                    for (Path file : files) {
+                        resources.add(new FileSystemResource(file));
+                    }
                 }
+            } else {
+                log.warn("Content directory does not exist: {}", contentDir);
+            }
+        }
+        return resources;
+    }
 
-                String[] parts = splitFrontMatter(content);
-                String yamlStr = parts[0];
-                String body = parts[1];
+    /**
+     * Build a snapshot (sorted list and indexes) from the loaded posts and swap it in
+     */
+    private void publish(Map<String, LoadedPost> posts) {
+        PostSnapshot next = PostSnapshot.of(posts);
+        snapshot = next;
+        renderCache.retainAll(next.slugs());
+    }
 
-                Map<String, Object> frontMatter = yamlStr.isEmpty()
-                        ? new HashMap<>()
-                        : yaml.load(yamlStr);
-                if (frontMatter == null) frontMatter = new HashMap<>();
+    /**
+     * Render a single reloaded post right away when eager rendering is on
+     */
+    private void prerender(LoadedPost post) {
+        BlogProperties.RenderCache cacheProps = blogProperties.getRenderCache();
+        if (!cacheProps.isEnabled()) return;
+        if (!cacheProps.isEager()) {
+            renderCache.invalidate(post.slug());
+            return;
+        }
+        if (renderCache.contains(post.slug(), post.contentHash())) return;
+        try {
+            renderCache.put(post.slug(), post.contentHash(), renderHtml(post.body()));
+        } catch (Exception e) {
+            log.warn("Failed to pre-render post: {} - {}", post.slug(), e.getMessage());
+        }
+    }
 
-                PostMeta meta = buildPostMeta(slug, frontMatter, body);
+    private List<LoadedPost> parseAll(List<Resource> resources) {
+        List<Callable<LoadedPost>> tasks = new ArrayList<>(resources.size());
+        for (Resource resource : resources) {
+            tasks.add(() -> parsePost(resource));
+        }
 
-                allMetas.add(meta);
-                metaBySlug.put(slug, meta);
-                markdownBodies.put(slug, body);
+        List<LoadedPost> loaded = new ArrayList<>(resources.size());
+        for (Future<LoadedPost> future : invokeAll(tasks, null)) {
+            LoadedPost post = getQuietly(future);
+            if (post != null) loaded.add(post);
+        }
+        return loaded;
+    }
+
+    /**
+     * Read and parse a single markdown resource; returns null if it is not a post or cannot be parsed
+     */
+    private LoadedPost parsePost(Resource resource) {
+        try {
+            String filename = resource.getFilename();
+            if (filename == null || !filename.endsWith(".md")) return null;
 
-                log.info("Loaded post: {}", slug);
-            } catch (Exception e) {
-                log.warn("Failed to parse post: {} - {}", resource.getFilename(), e.getMessage());
+            String slug = filename.substring(0, filename.length() - 3);
+
+            String content;
+            try (InputStream is = resource.getInputStream()) {
+                content = new String(is.readAllBytes(), StandardCharsets.UTF_8);
             }
+
+            String[] parts = splitFrontMatter(content);
+            String yamlStr = parts[0];
+            String body = parts[1];
+
+            Map<String, Object> frontMatter = parseFrontMatter(yamlStr);
+
+            PostMeta meta = buildPostMeta(slug, frontMatter, body);
+
+            log.debug("Loaded post: {}", slug);
+            // Hash the whole file so front matter edits count as a change too
+            return new LoadedPost(slug, meta, body, contentHash(content), PostSearchIndex.analyze(meta, body));
+        } catch (Exception e) {
+            log.warn("Failed to parse post: {} - {}", resource.getFilename(), e.getMessage());
+            return null;
         }
+    }
 
-        allMetas.sort((a, b) -> {
-            if (a.getDate() == null && b.getDate() == null) return 0;
-            if (a.getDate() == null) return 1;
-            if (b.getDate() == null) return -1;
-            return b.getDate().compareTo(a.getDate());
-        });
+    /**
+     * Render posts up front so the first reader doesn't pay for it.
+     * Anything not finished within the timeout is left to be rendered lazily.
+     */
+    private void warmRenderCache(Collection<LoadedPost> posts, Duration timeout) {
+        List<Callable<LoadedPost>> tasks = new ArrayList<>();
+        for (LoadedPost post : posts) {
+            if (renderCache.contains(post.slug(), post.contentHash())) continue;
+            tasks.add(() -> {
+                renderCache.put(post.slug(), post.contentHash(), renderHtml(post.body()));
+                return post;
+            });
+        }
 
-        log.info("Loaded {} markdown posts", allMetas.size());
+        int skipped = 0;
+        for (Future<LoadedPost> future : invokeAll(tasks, timeout)) {
+            if (future.isCancelled()) {
+                skipped++;
+            } else {
+                getQuietly(future);
+            }
+        }
+        if (skipped > 0) {
+            log.warn("Render cache warm-up exceeded {}; {} posts will render on first request", timeout, skipped);
+        }
+
+        PostRenderCache.Stats stats = renderCache.stats();
+        log.info("Render cache warmed: {} posts, ~{} KB", stats.size(), stats.estimatedBytes() / 1024);
+    }
+
+    /**
+     * Run tasks on virtual threads (or inline when parallel loading is disabled).
+     * With a timeout, unfinished tasks are cancelled when it expires.
+     */
+    private <T> List<Future<T>> invokeAll(List<Callable<T>> tasks, Duration timeout) {
+        if (tasks.isEmpty()) return List.of();
+        try (ExecutorService executor = blogProperties.getLoader().isParallel()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newSingleThreadExecutor()) {
+            return timeout == null
+                    ? executor.invokeAll(tasks)
+                    : executor.invokeAll(tasks, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading posts", e);
+        }
+    }
+
+    private <T> T getQuietly(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | CancellationException e) {
+            log.warn("Post load task failed - {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return null;
+        }
+    }
+
+    private static long millis(long fromNanos, long toNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(toNanos - fromNanos);
+    }
+
+    private String renderHtml(String markdown) {
+        Document document = parseTimer.record(() -> parseMarkdown(markdown));
+        String html = renderTimer.record(() -> renderMarkdown(document));
+        return sanitizeTimer.record(() -> sanitizerService.sanitize(html));
+    }
+
+    /**
+     * Markdown to AST with the blog's extensions (parse and render are split so they can be benchmarked apart)
+     */
+    Document parseMarkdown(String markdown) {
+        return markdownParser.parse(markdown);
     }
 
-    private String[] splitFrontMatter(String content) {
+    /**
+     * AST to (unsanitized) HTML, with highlighted code blocks
+     */
+    String renderMarkdown(Document document) {
+        return htmlRenderer.render(document);
+    }
+
+    private static String contentHash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String[] splitFrontMatter(String content) {
         if (content.startsWith("---")) {
             int end = content.indexOf("---", 3);
             if (end != -1) {
@@ -129,6 +400,14 @@ public class MarkdownPostService {
         return new String[]{"", content};
     }
 
+    /**
+     * YAML front matter to a map (empty when absent); Yaml instances are not thread-safe, so each call gets its own
+     */
+    static Map<String, Object> parseFrontMatter(String yaml) {
+        Map<String, Object> frontMatter = yaml.isEmpty() ? null : new Yaml().load(yaml);
+        return frontMatter != null ? frontMatter : new HashMap<>();
+    }
+
     private PostMeta buildPostMeta(String slug, Map<String, Object> fm, String markdownBody) {
         String title = getStr(fm, "title", slug);
 
@@ -186,12 +465,12 @@ public class MarkdownPostService {
     private List<String> getList(Map<String, Object> map, String key) {
         Object v = map.get(key);
         if (v instanceof List<?> list) {
-            return list.stream().map(Object::toString).collect(Collectors.toList());
+            return list.stream().map(Object::toString).toList();
         }
         return List.of();
     }
 
-    private String extractFirstParagraph(String markdown, int maxLength) {
+    static String extractFirstParagraph(String markdown, int maxLength) {
         String[] lines = markdown.split("\n");
         StringBuilder sb = new StringBuilder();
         for (String line : lines) {
@@ -205,10 +484,10 @@ public class MarkdownPostService {
             if (sb.length() >= maxLength) break;
         }
         String result = sb.toString().trim();
-        result = result.replaceAll("\\*\\*(.+?)\\*\\*", "$1")
-                .replaceAll("\\*(.+?)\\*", "$1")
-                .replaceAll("`(.+?)`", "$1")
-                .replaceAll("\\[(.+?)]\\(.+?\\)", "$1");
+        result = BOLD.matcher(result).replaceAll("$1");
+        result = ITALIC.matcher(result).replaceAll("$1");
+        result = INLINE_CODE.matcher(result).replaceAll("$1");
+        result = LINK.matcher(result).replaceAll("$1");
         if (result.length() > maxLength) {
             result = result.substring(0, maxLength) + "...";
         }
@@ -218,63 +497,139 @@ public class MarkdownPostService {
     // ===== Public API =====
 
     public List<PostMeta> listPosts() {
-        return Collections.unmodifiableList(allMetas);
+        return snapshot.allMetas();
     }
 
     public Optional<RenderedPost> renderPost(String slug) {
-        PostMeta meta = metaBySlug.get(slug);
-        if (meta == null) return Optional.empty();
+        LoadedPost post = snapshot.get(slug);
+        if (post == null) return Optional.empty();
 
-        String markdown = markdownBodies.get(slug);
-        if (markdown == null) return Optional.empty();
+        String safeHtml = blogProperties.getRenderCache().isEnabled()
+                ? renderCache.get(slug, post.contentHash(), () -> renderHtml(post.body()))
+                : renderHtml(post.body());
 
-        String html = htmlRenderer.render(markdownParser.parse(markdown));
-        String safeHtml = sanitizerService.sanitize(html);
+        return Optional.of(new RenderedPost(post.meta(), safeHtml));
+    }
 
-        return Optional.of(new RenderedPost(meta, safeHtml));
+    /**
+     * Strong validator for a post page, or null if the post doesn't exist.
+     * Covers the post itself and the rest of the snapshot (related posts are listed on the page).
+     */
+    public String getPostETag(String slug) {
+        PostSnapshot current = snapshot;
+        LoadedPost post = current.get(slug);
+        if (post == null) return null;
+        return "p-" + post.contentHash().substring(0, 16) + "-" + current.version() + "-" + bootTag;
+    }
+
+    /**
+     * Strong validator for listing pages (home, category, tag)
+     */
+    public String getListingETag() {
+        return "l-" + snapshot.version() + "-" + bootTag;
+    }
+
+    /**
+     * When the current set of posts was loaded
+     */
+    public Instant getLastModified() {
+        return snapshot.createdAt();
+    }
+
+    /**
+     * Full-text search over title, tags, summary and body, best match first
+     */
+    public List<SearchResult> search(String query, int limit) {
+        return snapshot.searchIndex().search(query, limit);
+    }
+
+    public PostRenderCache.Stats getRenderCacheStats() {
+        return renderCache.stats();
+    }
+
+    /**
+     * One page of all posts, newest first
+     *
+     * @param cursor next-page cursor from the previous page, or null for the first page
+     */
+    public PostPage listPosts(String cursor) {
+        return PostSnapshot.page(snapshot.allMetas(), cursor, blogProperties.getPageSize());
+    }
+
+    public PostPage listByCategory(String category, String cursor) {
+        return PostSnapshot.page(snapshot.byCategory(category), cursor, blogProperties.getPageSize());
+    }
+
+    public PostPage listByTag(String tag, String cursor) {
+        return PostSnapshot.page(snapshot.byTag(tag), cursor, blogProperties.getPageSize());
     }
 
     public List<PostMeta> listByCategory(String category) {
-        return allMetas.stream()
-                .filter(m -> category.equalsIgnoreCase(m.getCategory()))
-                .collect(Collectors.toList());
+        return snapshot.byCategory(category);
     }
 
     public List<PostMeta> listByTag(String tag) {
-        return allMetas.stream()
-                .filter(m -> m.getTags() != null &&
-                        m.getTags().stream().anyMatch(t -> t.equalsIgnoreCase(tag)))
-                .collect(Collectors.toList());
+        return snapshot.byTag(tag);
     }
 
     public List<PostMeta> getRelatedPosts(String category, String excludeSlug, int limit) {
-        return allMetas.stream()
-                .filter(m -> category.equalsIgnoreCase(m.getCategory()))
-                .filter(m -> !m.getSlug().equals(excludeSlug))
-                .limit(limit)
-                .collect(Collectors.toList());
+        List<PostMeta> sameCategory = snapshot.byCategory(category);
+        List<PostMeta> related = new ArrayList<>(Math.min(limit, sameCategory.size()));
+        for (PostMeta meta : sameCategory) {
+            if (related.size() >= limit) break;
+            if (!meta.getSlug().equals(excludeSlug)) related.add(meta);
+        }
+        return related;
     }
 
     /**
-     * AttributeProvider that adds language-xxx class to code blocks for syntax highlighting
+     * Renders fenced code blocks with server-side highlighting (hljs-compatible markup)
      */
-    static class CodeLanguageAttributeProvider implements AttributeProvider {
+    static class HighlightedCodeBlockRenderer implements NodeRenderer {
+
+        private final SyntaxHighlighterService highlighter;
+
+        HighlightedCodeBlockRenderer(SyntaxHighlighterService highlighter) {
+            this.highlighter = highlighter;
+        }
+
         @Override
-        public void setAttributes(@NotNull Node node, @NotNull AttributablePart part, @NotNull MutableAttributes attributes) {
-            if (node instanceof FencedCodeBlock) {
-                FencedCodeBlock codeBlock = (FencedCodeBlock) node;
-                String info = codeBlock.getInfo().toString().trim();
-                // Add language-xxx class to the <code> element for highlight.js
-                if (!info.isEmpty()) {
-                    attributes.addValue("class", "language-" + info);
-                }
+        public @Nullable Set<NodeRenderingHandler<?>> getNodeRenderingHandlers() {
+            return Set.of(new NodeRenderingHandler<>(FencedCodeBlock.class, this::render));
+        }
+
+        private void render(FencedCodeBlock node, NodeRendererContext context, HtmlWriter html) {
+            // Only the first word of the info string names the language ("java title=Foo.java")
+            String info = node.getInfo().toString().trim();
+            String language = info.isEmpty() ? "" : info.split("\\s+", 2)[0];
+
+            String cssClass = "hljs";
+            if (!language.isEmpty() && LANGUAGE_NAME.matcher(language).matches()) {
+                cssClass += " language-" + language;
             }
+
+            // openPre/closePre keep HtmlWriter from re-indenting the code lines
+            html.line();
+            html.raw("<pre>");
+            html.openPre();
+            html.raw("<code class=\"" + cssClass + "\">");
+            html.raw(highlighter.highlight(node.getContentChars().normalizeEOL(), language));
+            html.raw("</code></pre>");
+            html.closePre();
+            html.line();
         }
 
-        static class Factory extends IndependentAttributeProviderFactory {
+        static class Factory implements NodeRendererFactory {
+
+            private final SyntaxHighlighterService highlighter;
+
+            Factory(SyntaxHighlighterService highlighter) {
+                this.highlighter = highlighter;
+            }
+
             @Override
-            public @NotNull AttributeProvider apply(@NotNull LinkResolverContext context) {
-                return new CodeLanguageAttributeProvider();
+            public @NotNull NodeRenderer apply(@NotNull DataHolder options) {
+                return new HighlightedCodeBlockRenderer(highlighter);
             }
         }
     }
@@ -0,0 +1,124 @@
+package com.example.blog.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * LRU cache of fully rendered blog pages, bounded by entry count and total bytes.
+ *
+ * Every entry records the content version it was rendered against; a lookup
+ * with a different version treats the entry as stale and drops it, so a new
+ * post snapshot invalidates all cached pages without an explicit flush.
+ * Guarded by a {@link ReentrantLock} so virtual threads waiting for it do not pin their carriers.
+ */
+public class PageCache {
+
+    private final long maxBytes;
+    private final int maxEntries;
+    // access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Page> pages = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PageCache(long maxBytes, int maxEntries) {
+        this.maxBytes = maxBytes;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Cached page for the key if it was rendered against the given content version
+     */
+    public Page get(String key, String version) {
+        lock.lock();
+        try {
+            Page page = pages.get(key);
+            if (page != null && page.version().equals(version)) {
+                hits.increment();
+                return page;
+            }
+            if (page != null) {
+                remove(key);
+            }
+            misses.increment();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String key, Page page) {
+        if (page.size() > maxBytes) return;
+        lock.lock();
+        try {
+            remove(key);
+            pages.put(key, page);
+            totalBytes += page.size();
+
+            Iterator<Map.Entry<String, Page>> eldest = pages.entrySet().iterator();
+            while ((totalBytes > maxBytes || pages.size() > maxEntries) && eldest.hasNext()) {
+                totalBytes -= eldest.next().getValue().size();
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            pages.clear();
+            totalBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), pages.size(), totalBytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(String key) {
+        Page removed = pages.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.size();
+        }
+    }
+
+    /**
+     * A rendered page in both plain and gzip form, plus the headers needed to replay it
+     * and the controller route that produced it (for request metrics on a hit)
+     */
+    public record Page(String version, String contentType, String etag, String lastModified,
+                       String cacheControl, String route, byte[] body, byte[] gzipBody) {
+
+        long size() {
+            return (long) body.length + gzipBody.length;
+        }
+    }
+
+    /**
+     * Snapshot of cache counters
+     *
+     * @param hits      requests served from the cache
+     * @param misses    requests that went through the controller
+     * @param evictions pages dropped to stay within limits
+     * @param size      number of cached pages
+     * @param bytes     bytes held (plain + gzip)
+     */
+    public record Stats(long hits, long misses, long evictions, int size, long bytes) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.blog.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache of rendered, sanitized post HTML keyed by slug.
+ *
+ * Each entry remembers the content hash of the markdown it was rendered from,
+ * so a changed post is re-rendered on the next lookup even if nobody
+ * invalidated it explicitly.
+ */
+@Component
+public class PostRenderCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Return cached HTML for the slug, rendering it when missing or stale
+     */
+    public String get(String slug, String contentHash, Supplier<String> renderer) {
+        Entry entry = entries.get(slug);
+        if (entry != null && entry.contentHash().equals(contentHash)) {
+            hits.increment();
+            return entry.html();
+        }
+        misses.increment();
+        String html = renderer.get();
+        entries.put(slug, new Entry(contentHash, html));
+        return html;
+    }
+
+    /**
+     * Store HTML rendered ahead of time (startup warm-up)
+     */
+    public void put(String slug, String contentHash, String html) {
+        entries.put(slug, new Entry(contentHash, html));
+    }
+
+    /**
+     * Whether an up-to-date entry exists for the slug
+     */
+    public boolean contains(String slug, String contentHash) {
+        Entry entry = entries.get(slug);
+        return entry != null && entry.contentHash().equals(contentHash);
+    }
+
+    public void invalidate(String slug) {
+        entries.remove(slug);
+    }
+
+    /**
+     * Drop entries for posts that no longer exist
+     */
+    public void retainAll(Set<String> slugs) {
+        entries.keySet().retainAll(slugs);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public Stats stats() {
+        long bytes = 0;
+        for (Entry entry : entries.values()) {
+            bytes += entry.estimatedBytes();
+        }
+        return new Stats(hits.sum(), misses.sum(), entries.size(), bytes);
+    }
+
+    private record Entry(String contentHash, String html) {
+
+        /**
+         * Rough retained size: UTF-16 worst case for both strings
+         */
+        long estimatedBytes() {
+            return 2L * (html.length() + contentHash.length());
+        }
+    }
+
+    /**
+     * Snapshot of cache counters
+     *
+     * @param hits           lookups answered from the cache
+     * @param misses         lookups that had to render
+     * @param size           number of cached posts
+     * @param estimatedBytes approximate memory held by cached HTML
+     */
+    public record Stats(long hits, long misses, int size, long estimatedBytes) {
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
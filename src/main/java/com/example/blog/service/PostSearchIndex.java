@@ -0,0 +1,195 @@
+package com.example.blog.service;
+
+import com.example.blog.domain.PostMeta;
+import com.example.blog.domain.SearchResult;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory inverted index over post title, tags, summary and body.
+ *
+ * Terms are tokenized once per post when it is parsed ({@link #analyze}), so
+ * building the index for a new snapshot only merges precomputed term weights.
+ * Queries are ranked with BM25 over field-weighted term frequencies; every
+ * query term also matches indexed terms it is a prefix of, at a reduced weight.
+ */
+final class PostSearchIndex {
+
+    // Field boosts applied to term frequency
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float TAG_WEIGHT = 2.5f;
+    private static final float SUMMARY_WEIGHT = 1.5f;
+    private static final float BODY_WEIGHT = 1.0f;
+
+    // BM25 parameters
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final float PREFIX_WEIGHT = 0.7f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final PostMeta[] docs;
+    private final float[] docLengths;
+    private final float avgDocLength;
+    // Sorted terms; postings[i] / weights[i] belong to terms[i]
+    private final String[] terms;
+    private final int[][] postings;
+    private final float[][] weights;
+
+    private PostSearchIndex(PostMeta[] docs, float[] docLengths, String[] terms, int[][] postings, float[][] weights) {
+        this.docs = docs;
+        this.docLengths = docLengths;
+        this.terms = terms;
+        this.postings = postings;
+        this.weights = weights;
+
+        float total = 0;
+        for (float length : docLengths) total += length;
+        this.avgDocLength = docLengths.length == 0 ? 1 : Math.max(1, total / docLengths.length);
+    }
+
+    /**
+     * Field-weighted term frequencies for one post
+     *
+     * @param termWeights term -> weighted frequency
+     * @param length      weighted token count
+     */
+    record Terms(Map<String, Float> termWeights, float length) {
+    }
+
+    static Terms analyze(PostMeta meta, String body) {
+        Map<String, Float> termWeights = new HashMap<>();
+        float[] length = {0};
+        addField(termWeights, length, meta.getTitle(), TITLE_WEIGHT);
+        if (meta.getTags() != null) {
+            for (String tag : meta.getTags()) {
+                addField(termWeights, length, tag, TAG_WEIGHT);
+            }
+        }
+        addField(termWeights, length, meta.getSummary(), SUMMARY_WEIGHT);
+        addField(termWeights, length, body, BODY_WEIGHT);
+        return new Terms(Map.copyOf(termWeights), length[0]);
+    }
+
+    private static void addField(Map<String, Float> termWeights, float[] length, String text, float weight) {
+        SearchTokenizer.tokenize(text, term -> {
+            termWeights.merge(term, weight, Float::sum);
+            length[0] += weight;
+        });
+    }
+
+    static PostSearchIndex build(List<LoadedPost> posts) {
+        PostMeta[] docs = new PostMeta[posts.size()];
+        float[] docLengths = new float[posts.size()];
+        Map<String, PostingList> postingLists = new HashMap<>();
+
+        for (int i = 0; i < docs.length; i++) {
+            LoadedPost post = posts.get(i);
+            docs[i] = post.meta();
+            docLengths[i] = post.terms().length();
+            int doc = i;
+            post.terms().termWeights().forEach((term, weight) ->
+                    postingLists.computeIfAbsent(term, k -> new PostingList()).add(doc, weight));
+        }
+
+        String[] terms = postingLists.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        int[][] postings = new int[terms.length][];
+        float[][] weights = new float[terms.length][];
+        for (int t = 0; t < terms.length; t++) {
+            PostingList list = postingLists.get(terms[t]);
+            postings[t] = Arrays.copyOf(list.docs, list.size);
+            weights[t] = Arrays.copyOf(list.weights, list.size);
+        }
+        return new PostSearchIndex(docs, docLengths, terms, postings, weights);
+    }
+
+    /**
+     * Growable (doc, weight) pairs used only while building
+     */
+    private static final class PostingList {
+
+        private int[] docs = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    /**
+     * Rank posts for a free-text query, best match first
+     */
+    List<SearchResult> search(String query, int limit) {
+        if (query == null || query.isBlank() || docs.length == 0 || limit <= 0) return List.of();
+        if (query.length() > MAX_QUERY_LENGTH) {
+            query = query.substring(0, MAX_QUERY_LENGTH);
+        }
+
+        Set<String> queryTerms = new LinkedHashSet<>();
+        SearchTokenizer.tokenize(query, queryTerms::add);
+
+        float[] scores = new float[docs.length];
+        for (String queryTerm : queryTerms) {
+            int t = lowerBound(queryTerm);
+            int expansions = 0;
+            while (t < terms.length && terms[t].startsWith(queryTerm) && expansions < MAX_PREFIX_EXPANSIONS) {
+                float boost = terms[t].length() == queryTerm.length() ? 1.0f : PREFIX_WEIGHT;
+                score(t, boost, scores);
+                t++;
+                expansions++;
+            }
+        }
+
+        List<Integer> hits = new ArrayList<>();
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] > 0) hits.add(doc);
+        }
+        hits.sort((a, b) -> Float.compare(scores[b], scores[a]));
+
+        List<SearchResult> results = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            int doc = hits.get(i);
+            results.add(new SearchResult(docs[doc], scores[doc]));
+        }
+        return results;
+    }
+
+    private void score(int term, float boost, float[] scores) {
+        int[] docIds = postings[term];
+        float[] tfs = weights[term];
+        double df = docIds.length;
+        float idf = (float) Math.log(1 + (docs.length - df + 0.5) / (df + 0.5));
+        for (int j = 0; j < docIds.length; j++) {
+            int doc = docIds[j];
+            float tf = tfs[j];
+            float norm = K1 * (1 - B + B * docLengths[doc] / avgDocLength);
+            scores[doc] += boost * idf * (tf * (K1 + 1)) / (tf + norm);
+        }
+    }
+
+    /**
+     * Index of the first term >= key
+     */
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = terms.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (terms[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.blog.service;
+
+import com.example.blog.domain.PostMeta;
+import com.example.blog.domain.PostPage;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Immutable view of all loaded posts and the indexes derived from them.
+ *
+ * A snapshot is never modified after construction; a reload builds a new one
+ * and publishes it with a single reference swap, so readers always see a
+ * consistent set of posts without locking.
+ */
+final class PostSnapshot {
+
+    static final PostSnapshot EMPTY = new PostSnapshot(Map.of());
+
+    // Newest first, undated posts last, slug as tie-breaker so the order is total (needed for cursors)
+    private static final Comparator<PostMeta> NEWEST_FIRST = (a, b) -> {
+        if (a.getDate() == null && b.getDate() != null) return 1;
+        if (a.getDate() != null && b.getDate() == null) return -1;
+        if (a.getDate() != null) {
+            int byDate = b.getDate().compareTo(a.getDate());
+            if (byDate != 0) return byDate;
+        }
+        return a.getSlug().compareTo(b.getSlug());
+    };
+
+    private final Map<String, LoadedPost> postsBySlug;
+    private final List<PostMeta> allMetas;
+    // Case-folded category/tag -> posts in date order
+    private final Map<String, List<PostMeta>> postsByCategory;
+    private final Map<String, List<PostMeta>> postsByTag;
+    private final PostSearchIndex searchIndex;
+    // Hash over every post's slug and content hash; changes whenever any post does
+    private final String version;
+    private final Instant createdAt = Instant.now();
+
+    private PostSnapshot(Map<String, LoadedPost> posts) {
+        List<PostMeta> metas = new ArrayList<>(posts.size());
+        for (LoadedPost post : posts.values()) {
+            metas.add(post.meta());
+        }
+        metas.sort(NEWEST_FIRST);
+
+        this.postsBySlug = Collections.unmodifiableMap(new LinkedHashMap<>(posts));
+        this.allMetas = List.copyOf(metas);
+        this.postsByCategory = buildCategoryIndex(metas);
+        this.postsByTag = buildTagIndex(metas);
+        this.searchIndex = PostSearchIndex.build(List.copyOf(posts.values()));
+        this.version = computeVersion(posts);
+    }
+
+    /**
+     * Build a snapshot from slug -> post; the map is copied
+     */
+    static PostSnapshot of(Map<String, LoadedPost> posts) {
+        return posts.isEmpty() ? EMPTY : new PostSnapshot(posts);
+    }
+
+    /**
+     * Copy of the slug -> post map, for building the next snapshot
+     */
+    Map<String, LoadedPost> toMutableMap() {
+        return new LinkedHashMap<>(postsBySlug);
+    }
+
+    LoadedPost get(String slug) {
+        return postsBySlug.get(slug);
+    }
+
+    Set<String> slugs() {
+        return postsBySlug.keySet();
+    }
+
+    Collection<LoadedPost> posts() {
+        return postsBySlug.values();
+    }
+
+    int size() {
+        return postsBySlug.size();
+    }
+
+    /**
+     * All posts, newest first
+     */
+    List<PostMeta> allMetas() {
+        return allMetas;
+    }
+
+    List<PostMeta> byCategory(String category) {
+        return postsByCategory.getOrDefault(foldKey(category), List.of());
+    }
+
+    List<PostMeta> byTag(String tag) {
+        return postsByTag.getOrDefault(foldKey(tag), List.of());
+    }
+
+    /**
+     * Keyset page of a list sorted by {@link #allMetas()} order.
+     * The cursor is the (date, slug) of the last post on the previous page; unknown or
+     * malformed cursors start from the top.
+     */
+    static PostPage page(List<PostMeta> sorted, String cursor, int size) {
+        int from = 0;
+        PostMeta after = decodeCursor(cursor);
+        if (after != null) {
+            from = firstAfter(sorted, after);
+        }
+        int to = Math.min(sorted.size(), from + Math.max(1, size));
+        List<PostMeta> posts = sorted.subList(from, to);
+        String nextCursor = to < sorted.size() ? encodeCursor(sorted.get(to - 1)) : null;
+        return new PostPage(posts, nextCursor, sorted.size());
+    }
+
+    /**
+     * Binary search for the first post ordered strictly after the cursor position
+     */
+    private static int firstAfter(List<PostMeta> sorted, PostMeta after) {
+        int lo = 0;
+        int hi = sorted.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (NEWEST_FIRST.compare(sorted.get(mid), after) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Cursor format: "yyyy-MM-dd:slug", or ":slug" for undated posts
+    private static String encodeCursor(PostMeta meta) {
+        return (meta.getDate() == null ? "" : meta.getDate().toString()) + ":" + meta.getSlug();
+    }
+
+    private static PostMeta decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) return null;
+        int sep = cursor.indexOf(':');
+        if (sep < 0 || sep == cursor.length() - 1) return null;
+        PostMeta probe = new PostMeta();
+        try {
+            probe.setDate(sep == 0 ? null : LocalDate.parse(cursor.substring(0, sep)));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        probe.setSlug(cursor.substring(sep + 1));
+        return probe;
+    }
+
+    PostSearchIndex searchIndex() {
+        return searchIndex;
+    }
+
+    String version() {
+        return version;
+    }
+
+    Instant createdAt() {
+        return createdAt;
+    }
+
+    private static String computeVersion(Map<String, LoadedPost> posts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String slug : new TreeSet<>(posts.keySet())) {
+                digest.update(slug.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(posts.get(slug).contentHash().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Group date-sorted posts by case-folded category, keeping date order within each group
+     */
+    private static Map<String, List<PostMeta>> buildCategoryIndex(List<PostMeta> sortedMetas) {
+        Map<String, List<PostMeta>> index = new HashMap<>();
+        for (PostMeta meta : sortedMetas) {
+            if (meta.getCategory() == null) continue;
+            index.computeIfAbsent(foldKey(meta.getCategory()), k -> new ArrayList<>()).add(meta);
+        }
+        return freeze(index);
+    }
+
+    /**
+     * Group date-sorted posts by case-folded tag; a post is listed once per distinct tag
+     */
+    private static Map<String, List<PostMeta>> buildTagIndex(List<PostMeta> sortedMetas) {
+        Map<String, List<PostMeta>> index = new HashMap<>();
+        for (PostMeta meta : sortedMetas) {
+            if (meta.getTags() == null) continue;
+            Set<String> keys = new LinkedHashSet<>();
+            for (String tag : meta.getTags()) {
+                keys.add(foldKey(tag));
+            }
+            for (String key : keys) {
+                index.computeIfAbsent(key, k -> new ArrayList<>()).add(meta);
+            }
+        }
+        return freeze(index);
+    }
+
+    private static Map<String, List<PostMeta>> freeze(Map<String, List<PostMeta>> index) {
+        index.replaceAll((key, posts) -> List.copyOf(posts));
+        return Map.copyOf(index);
+    }
+
+    private static String foldKey(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
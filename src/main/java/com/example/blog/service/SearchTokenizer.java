@@ -0,0 +1,65 @@
+package com.example.blog.service;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Splits text into search terms for Korean and English content.
+ *
+ * Latin/digit runs become lower-cased words. Hangul has no whitespace-free
+ * word boundaries we can rely on (particles attach to nouns: 스트림을, 스트림의),
+ * so Hangul runs are indexed as overlapping character bigrams; a single
+ * syllable run is kept as-is. The same rules are used for documents and
+ * queries, so "스트림" matches "스트림을" through the shared bigrams.
+ */
+final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    static void tokenize(String text, Consumer<String> sink) {
+        if (text == null || text.isEmpty()) return;
+
+        StringBuilder word = new StringBuilder();
+        StringBuilder hangul = new StringBuilder();
+        int len = text.length();
+        for (int i = 0; i < len; i++) {
+            char c = text.charAt(i);
+            if (isHangul(c)) {
+                flushWord(word, sink);
+                hangul.append(c);
+            } else if (Character.isLetterOrDigit(c)) {
+                flushHangul(hangul, sink);
+                word.append(c);
+            } else {
+                flushWord(word, sink);
+                flushHangul(hangul, sink);
+            }
+        }
+        flushWord(word, sink);
+        flushHangul(hangul, sink);
+    }
+
+    private static void flushWord(StringBuilder word, Consumer<String> sink) {
+        if (word.isEmpty()) return;
+        sink.accept(word.toString().toLowerCase(Locale.ROOT));
+        word.setLength(0);
+    }
+
+    private static void flushHangul(StringBuilder run, Consumer<String> sink) {
+        if (run.isEmpty()) return;
+        if (run.length() == 1) {
+            sink.accept(run.toString());
+        } else {
+            for (int i = 0; i + 1 < run.length(); i++) {
+                sink.accept(run.substring(i, i + 2));
+            }
+        }
+        run.setLength(0);
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣')   // syllables
+                || (c >= 'ㄱ' && c <= 'ㆎ'); // compatibility jamo
+    }
+}
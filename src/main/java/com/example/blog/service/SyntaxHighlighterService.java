@@ -0,0 +1,805 @@
+package com.example.blog.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Server-side syntax highlighting for fenced code blocks.
+ *
+ * Emits the same span classes as highlight.js (hljs-keyword, hljs-string, ...)
+ * so the existing github / github-dark theme stylesheets apply unchanged,
+ * but no highlighter script has to be shipped to the browser.
+ *
+ * This is a lightweight lexer, not a parser: it recognises comments, strings,
+ * numbers, keywords and a few language-specific tokens (string templates,
+ * JavaScript regex literals, shell variables). Languages not registered below
+ * get no highlighting at all: their code is only escaped.
+ */
+@Service
+public class SyntaxHighlighterService {
+
+    private static final Map<String, Language> LANGUAGES = new HashMap<>();
+
+    private static final Pattern YAML_LITERAL = Pattern.compile("true|false|null|~|yes|no|on|off");
+    private static final Pattern YAML_NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+    static {
+        Language java = Language.builder()
+                .keywords("abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class",
+                        "const", "continue", "default", "do", "double", "else", "enum", "extends", "final",
+                        "finally", "float", "for", "goto", "if", "implements", "import", "instanceof", "int",
+                        "interface", "long", "native", "new", "package", "private", "protected", "public",
+                        "record", "return", "sealed", "permits", "short", "static", "strictfp", "super",
+                        "switch", "synchronized", "this", "throw", "throws", "transient", "try", "var",
+                        "void", "volatile", "while", "yield")
+                .literals("true", "false", "null")
+                .lineComment("//").blockComment("/*", "*/")
+                .quotes("\"'").textBlocks("\"\"\"")
+                .annotations().functionTitles()
+                .build();
+        register(java, "java");
+
+        Language kotlin = Language.builder()
+                .keywords("as", "break", "class", "continue", "do", "else", "for", "fun", "if", "in",
+                        "interface", "is", "object", "package", "return", "super", "this", "throw", "try",
+                        "typealias", "val", "var", "when", "while", "by", "catch", "constructor", "companion",
+                        "data", "enum", "final", "finally", "import", "init", "lateinit", "open", "override",
+                        "private", "protected", "public", "internal", "sealed", "suspend")
+                .literals("true", "false", "null")
+                .lineComment("//").blockComment("/*", "*/")
+                .quotes("\"'").textBlocks("\"\"\"")
+                .templates("\"", true)
+                .annotations().functionTitles()
+                .build();
+        register(kotlin, "kotlin", "kt");
+
+        Language javascript = Language.builder()
+                .keywords("async", "await", "break", "case", "catch", "class", "const", "continue", "debugger",
+                        "default", "delete", "do", "else", "export", "extends", "finally", "for", "from",
+                        "function", "if", "import", "in", "instanceof", "interface", "let", "new", "of",
+                        "return", "static", "super", "switch", "this", "throw", "try", "type", "typeof",
+                        "var", "void", "while", "yield")
+                .literals("true", "false", "null", "undefined", "NaN")
+                .builtIns("console", "document", "window", "Promise", "JSON", "Math", "Object", "Array")
+                .lineComment("//").blockComment("/*", "*/")
+                .quotes("\"'`")
+                .templates("`", false)
+                .regexLiterals()
+                .functionTitles()
+                .build();
+        register(javascript, "javascript", "js", "typescript", "ts");
+
+        Language bash = Language.builder()
+                .keywords("if", "then", "else", "elif", "fi", "for", "while", "until", "do", "done", "case",
+                        "esac", "in", "function", "return", "export", "local", "readonly", "select")
+                .literals("true", "false")
+                .builtIns("echo", "cd", "pwd", "ls", "cat", "grep", "sed", "awk", "mkdir", "rm", "cp", "mv",
+                        "chmod", "chown", "curl", "wget", "sudo", "source", "set", "unset", "exit", "docker",
+                        "docker-compose", "git", "java", "gradle", "./gradlew", "npm", "npx", "kubectl")
+                .lineComment("#")
+                .quotes("\"'")
+                .variables()
+                .build();
+        register(bash, "bash", "sh", "shell", "zsh", "console");
+
+        Language python = Language.builder()
+                .keywords("and", "as", "assert", "async", "await", "break", "class", "continue", "def", "del",
+                        "elif", "else", "except", "finally", "for", "from", "global", "if", "import", "in",
+                        "is", "lambda", "nonlocal", "not", "or", "pass", "raise", "return", "try", "while",
+                        "with", "yield")
+                .literals("True", "False", "None")
+                .builtIns("print", "len", "range", "dict", "list", "set", "str", "int", "float", "open")
+                .lineComment("#")
+                .quotes("\"'").textBlocks("\"\"\"", "'''")
+                .annotations().functionTitles()
+                .build();
+        register(python, "python", "py");
+
+        Language sql = Language.builder()
+                .keywords("select", "from", "where", "and", "or", "not", "insert", "into", "values", "update",
+                        "set", "delete", "create", "table", "index", "if", "exists", "drop", "alter", "add",
+                        "primary", "key", "foreign", "references", "unique", "default", "on", "join", "left",
+                        "right", "inner", "outer", "group", "by", "order", "having", "limit", "offset", "as",
+                        "distinct", "union", "all", "in", "is", "like", "between", "case", "when", "then",
+                        "else", "end", "returning", "conflict", "do", "nothing", "asc", "desc", "varchar",
+                        "text", "int", "integer", "bigint", "serial", "bigserial", "timestamp", "date",
+                        "boolean", "trigger", "function", "returns", "begin", "language", "with")
+                .literals("true", "false", "null")
+                .builtIns("count", "sum", "avg", "min", "max", "now", "coalesce", "lower", "upper")
+                .lineComment("--").blockComment("/*", "*/")
+                .quotes("'")
+                .caseInsensitive()
+                .build();
+        register(sql, "sql", "postgresql", "pgsql");
+
+        Language json = Language.builder()
+                .literals("true", "false", "null")
+                .quotes("\"")
+                .stringKeys()
+                .build();
+        register(json, "json");
+
+        register(Language.builder().mode(Mode.YAML).build(), "yaml", "yml");
+        register(Language.builder().mode(Mode.XML).build(), "xml", "html", "xhtml", "svg");
+    }
+
+    private static void register(Language language, String... names) {
+        for (String name : names) {
+            LANGUAGES.put(name, language);
+        }
+    }
+
+    /**
+     * Highlight code and return HTML-escaped markup with hljs-* spans
+     *
+     * @param code     raw code block contents
+     * @param language fenced code info string (e.g. "java"); may be null
+     */
+    public String highlight(String code, String language) {
+        Language lang = language == null ? null : LANGUAGES.get(language.toLowerCase(Locale.ROOT));
+        StringBuilder out = new StringBuilder(code.length() + code.length() / 2);
+        if (lang == null) {
+            escape(out, code, 0, code.length());
+        } else if (lang.mode == Mode.YAML) {
+            highlightYaml(out, code);
+        } else if (lang.mode == Mode.XML) {
+            highlightXml(out, code);
+        } else {
+            highlightCode(out, code, lang);
+        }
+        return out.toString();
+    }
+
+    // ===== C-like / scripting languages =====
+
+    private void highlightCode(StringBuilder out, String code, Language lang) {
+        int len = code.length();
+        int i = 0;
+        // Whether a '/' here would start a regex literal rather than divide (JavaScript)
+        boolean regexAllowed = true;
+        while (i < len) {
+            char c = code.charAt(i);
+
+            if (lang.blockCommentStart != null && code.startsWith(lang.blockCommentStart, i)) {
+                int end = code.indexOf(lang.blockCommentEnd, i + lang.blockCommentStart.length());
+                end = end == -1 ? len : end + lang.blockCommentEnd.length();
+                span(out, "hljs-comment", code, i, end);
+                i = end;
+                continue;
+            }
+
+            if (lang.lineComment != null && code.startsWith(lang.lineComment, i) && isCommentStart(code, i, lang)) {
+                int end = lineEnd(code, i);
+                span(out, "hljs-comment", code, i, end);
+                i = end;
+                continue;
+            }
+
+            String textBlock = lang.textBlockAt(code, i);
+            if (textBlock != null) {
+                boolean templates = lang.hasTemplates(c);
+                int end = textBlockEnd(code, i, textBlock, templates);
+                if (templates) {
+                    templateString(out, code, i, end, lang);
+                } else {
+                    span(out, "hljs-string", code, i, end);
+                }
+                i = end;
+                regexAllowed = false;
+                continue;
+            }
+
+            if (lang.quotes.indexOf(c) >= 0) {
+                boolean templates = lang.hasTemplates(c);
+                int end = stringEnd(code, i, c, lang.variables, templates);
+                if (templates) {
+                    templateString(out, code, i, end, lang);
+                } else {
+                    String cls = lang.stringKeys && nextNonSpace(code, end) == ':' ? "hljs-attr" : "hljs-string";
+                    span(out, cls, code, i, end);
+                }
+                i = end;
+                regexAllowed = false;
+                continue;
+            }
+
+            if (lang.regexLiterals && c == '/' && regexAllowed) {
+                int end = regexEnd(code, i);
+                if (end != -1) {
+                    span(out, "hljs-regexp", code, i, end);
+                    i = end;
+                    regexAllowed = false;
+                    continue;
+                }
+            }
+
+            if (lang.variables && c == '$' && i + 1 < len) {
+                int end = variableEnd(code, i);
+                if (end > i + 1) {
+                    span(out, "hljs-variable", code, i, end);
+                    i = end;
+                    regexAllowed = false;
+                    continue;
+                }
+            }
+
+            if (lang.annotations && c == '@' && i + 1 < len && Character.isJavaIdentifierStart(code.charAt(i + 1))) {
+                int end = i + 1;
+                while (end < len && (Character.isJavaIdentifierPart(code.charAt(end)) || code.charAt(end) == '.')) {
+                    end++;
+                }
+                span(out, "hljs-meta", code, i, end);
+                i = end;
+                continue;
+            }
+
+            if (Character.isDigit(c) && (i == 0 || !isWordChar(code.charAt(i - 1)))) {
+                int end = i + 1;
+                while (end < len && (Character.isLetterOrDigit(code.charAt(end)) || code.charAt(end) == '_'
+                        || (code.charAt(end) == '.' && end + 1 < len && Character.isDigit(code.charAt(end + 1))))) {
+                    end++;
+                }
+                span(out, "hljs-number", code, i, end);
+                i = end;
+                regexAllowed = false;
+                continue;
+            }
+
+            if (isWordStart(c, lang)) {
+                int end = i + 1;
+                while (end < len && isWordPart(code.charAt(end), lang)) {
+                    end++;
+                }
+                String word = code.substring(i, end);
+                String key = lang.caseInsensitive ? word.toLowerCase(Locale.ROOT) : word;
+                // After most keywords (return, typeof, ...) an expression follows; after this/super a value
+                regexAllowed = lang.keywords.contains(key) && !key.equals("this") && !key.equals("super");
+                if (lang.keywords.contains(key)) {
+                    span(out, "hljs-keyword", code, i, end);
+                } else if (lang.literals.contains(key)) {
+                    span(out, "hljs-literal", code, i, end);
+                } else if (lang.builtIns.contains(key)) {
+                    span(out, "hljs-built_in", code, i, end);
+                } else if (lang.functionTitles && nextNonSpace(code, end) == '(') {
+                    span(out, "hljs-title function_", code, i, end);
+                } else {
+                    escape(out, code, i, end);
+                }
+                i = end;
+                continue;
+            }
+
+            if (!Character.isWhitespace(c)) {
+                regexAllowed = c != ')' && c != ']';
+            }
+            escape(out, code, i, i + 1);
+            i++;
+        }
+    }
+
+    /**
+     * '#' only starts a comment at the beginning of a word (so $# and ${#x} stay intact)
+     */
+    private boolean isCommentStart(String code, int i, Language lang) {
+        if (!lang.lineComment.equals("#") || i == 0) return true;
+        return Character.isWhitespace(code.charAt(i - 1));
+    }
+
+    /**
+     * End of a quoted string. Shell strings may span lines and single quotes there don't escape.
+     */
+    private int stringEnd(String code, int start, char quote, boolean shell, boolean templates) {
+        int len = code.length();
+        boolean escapes = !(shell && quote == '\'');
+        boolean multiline = shell || quote == '`';
+        int i = start + 1;
+        while (i < len) {
+            char c = code.charAt(i);
+            if (c == '\\' && escapes) {
+                i += 2;
+                continue;
+            }
+            if (templates && isTemplateStart(code, i)) {
+                i = templateEnd(code, i);
+                continue;
+            }
+            if (c == quote) return i + 1;
+            if (c == '\n' && !multiline) return i;
+            i++;
+        }
+        return len;
+    }
+
+    /**
+     * End of a triple-quoted string; quotes inside ${...} templates do not close it
+     */
+    private int textBlockEnd(String code, int start, String delimiter, boolean templates) {
+        int len = code.length();
+        int i = start + delimiter.length();
+        while (i < len) {
+            if (templates && isTemplateStart(code, i)) {
+                i = templateEnd(code, i);
+            } else if (code.startsWith(delimiter, i)) {
+                return i + delimiter.length();
+            } else {
+                i++;
+            }
+        }
+        return len;
+    }
+
+    private static boolean isTemplateStart(String code, int i) {
+        return code.charAt(i) == '$' && i + 1 < code.length() && code.charAt(i + 1) == '{';
+    }
+
+    /**
+     * End of a ${...} template, matching nested braces and skipping quoted strings inside it
+     */
+    private static int templateEnd(String code, int start) {
+        int len = code.length();
+        int depth = 0;
+        int i = start + 1;
+        while (i < len) {
+            char c = code.charAt(i);
+            if (c == '"' || c == '\'' || c == '`') {
+                int close = i + 1;
+                while (close < len && code.charAt(close) != c && code.charAt(close) != '\n') {
+                    close += code.charAt(close) == '\\' ? 2 : 1;
+                }
+                i = Math.min(close + 1, len);
+                continue;
+            }
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return len;
+    }
+
+    /**
+     * A string whose ${expr} (and, in Kotlin, $name) templates are marked as hljs-subst
+     */
+    private void templateString(StringBuilder out, String code, int start, int end, Language lang) {
+        out.append("<span class=\"hljs-string\">");
+        int segment = start;
+        int i = start + 1;
+        while (i < end) {
+            char c = code.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            int templateEnd = -1;
+            if (isTemplateStart(code, i)) {
+                templateEnd = Math.min(templateEnd(code, i), end);
+            } else if (c == '$' && lang.bareTemplates && i + 1 < end && Character.isJavaIdentifierStart(code.charAt(i + 1))) {
+                templateEnd = i + 2;
+                while (templateEnd < end && Character.isJavaIdentifierPart(code.charAt(templateEnd))) {
+                    templateEnd++;
+                }
+            }
+            if (templateEnd == -1) {
+                i++;
+                continue;
+            }
+            escape(out, code, segment, i);
+            span(out, "hljs-subst", code, i, templateEnd);
+            segment = templateEnd;
+            i = templateEnd;
+        }
+        escape(out, code, segment, end);
+        out.append("</span>");
+    }
+
+    /**
+     * End of a /regex/flags literal, or -1 if the line has no closing slash (then it is just an operator)
+     */
+    private static int regexEnd(String code, int start) {
+        int len = code.length();
+        boolean inClass = false;
+        int i = start + 1;
+        while (i < len) {
+            char c = code.charAt(i);
+            if (c == '\n') {
+                return -1;
+            }
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                inClass = true;
+            } else if (c == ']') {
+                inClass = false;
+            } else if (c == '/' && !inClass) {
+                if (i == start + 1) {
+                    return -1;
+                }
+                i++;
+                while (i < len && Character.isLetter(code.charAt(i))) {
+                    i++;
+                }
+                return i;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private int variableEnd(String code, int start) {
+        int len = code.length();
+        int i = start + 1;
+        char c = code.charAt(i);
+        if (c == '{') {
+            int close = code.indexOf('}', i);
+            return close == -1 ? start : close + 1;
+        }
+        if ("#?@*!$0123456789".indexOf(c) >= 0) {
+            return i + 1;
+        }
+        while (i < len && (Character.isLetterOrDigit(code.charAt(i)) || code.charAt(i) == '_')) {
+            i++;
+        }
+        return i;
+    }
+
+    private boolean isWordStart(char c, Language lang) {
+        return Character.isLetter(c) || c == '_' || (lang.variables && c == '.');
+    }
+
+    private boolean isWordPart(char c, Language lang) {
+        return Character.isLetterOrDigit(c) || c == '_' || (lang.variables && (c == '-' || c == '/' || c == '.'));
+    }
+
+    private boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    // ===== YAML =====
+
+    private void highlightYaml(StringBuilder out, String code) {
+        int len = code.length();
+        int lineStart = 0;
+        while (lineStart < len) {
+            int lineEnd = lineEnd(code, lineStart);
+            highlightYamlLine(out, code, lineStart, lineEnd);
+            if (lineEnd < len) out.append('\n');
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private void highlightYamlLine(StringBuilder out, String code, int start, int end) {
+        int i = start;
+        while (i < end && code.charAt(i) == ' ') i++;
+        escape(out, code, start, i);
+
+        if (code.startsWith("---", i) || code.startsWith("...", i)) {
+            span(out, "hljs-meta", code, i, end);
+            return;
+        }
+        if (i < end && code.charAt(i) == '#') {
+            span(out, "hljs-comment", code, i, end);
+            return;
+        }
+        if (i < end && code.charAt(i) == '-' && (i + 1 == end || code.charAt(i + 1) == ' ')) {
+            span(out, "hljs-bullet", code, i, i + 1);
+            i++;
+            int spaces = i;
+            while (i < end && code.charAt(i) == ' ') i++;
+            escape(out, code, spaces, i);
+        }
+
+        int colon = yamlKeyEnd(code, i, end);
+        if (colon != -1) {
+            span(out, "hljs-attr", code, i, colon);
+            escape(out, code, colon, colon + 1);
+            i = colon + 1;
+        }
+        highlightYamlValue(out, code, i, end);
+    }
+
+    /**
+     * Position of the ':' that ends a mapping key on this line, or -1
+     */
+    private int yamlKeyEnd(String code, int start, int end) {
+        if (start >= end) return -1;
+        char first = code.charAt(start);
+        if (first == '"' || first == '\'' || first == '#' || first == '{' || first == '[') return -1;
+        for (int i = start; i < end; i++) {
+            char c = code.charAt(i);
+            if (c == ':' && (i + 1 == end || code.charAt(i + 1) == ' ')) return i;
+            if (c == '#' && i > start && code.charAt(i - 1) == ' ') return -1;
+        }
+        return -1;
+    }
+
+    private void highlightYamlValue(StringBuilder out, String code, int start, int end) {
+        int i = start;
+        while (i < end && code.charAt(i) == ' ') i++;
+        escape(out, code, start, i);
+        if (i >= end) return;
+
+        int comment = -1;
+        char first = code.charAt(i);
+        int valueEnd;
+        if (first == '"' || first == '\'') {
+            valueEnd = Math.min(stringEnd(code, i, first, false, false), end);
+            span(out, "hljs-string", code, i, valueEnd);
+        } else {
+            for (int j = i; j < end; j++) {
+                if (code.charAt(j) == '#' && j > i && code.charAt(j - 1) == ' ') {
+                    comment = j;
+                    break;
+                }
+            }
+            valueEnd = comment == -1 ? end : comment;
+            int trimmed = valueEnd;
+            while (trimmed > i && code.charAt(trimmed - 1) == ' ') trimmed--;
+            String value = code.substring(i, trimmed);
+            if (YAML_LITERAL.matcher(value).matches()) {
+                span(out, "hljs-literal", code, i, trimmed);
+            } else if (YAML_NUMBER.matcher(value).matches()) {
+                span(out, "hljs-number", code, i, trimmed);
+            } else if (first == '&' || first == '*' || first == '!') {
+                span(out, "hljs-type", code, i, trimmed);
+            } else if (first == '|' || first == '>') {
+                span(out, "hljs-meta", code, i, trimmed);
+            } else {
+                span(out, "hljs-string", code, i, trimmed);
+            }
+            escape(out, code, trimmed, valueEnd);
+        }
+        if (valueEnd < end) {
+            if (comment != -1) {
+                span(out, "hljs-comment", code, comment, end);
+            } else {
+                escape(out, code, valueEnd, end);
+            }
+        }
+    }
+
+    // ===== XML / HTML =====
+
+    private void highlightXml(StringBuilder out, String code) {
+        int len = code.length();
+        int i = 0;
+        while (i < len) {
+            char c = code.charAt(i);
+            if (code.startsWith("<!--", i)) {
+                int end = code.indexOf("-->", i + 4);
+                end = end == -1 ? len : end + 3;
+                span(out, "hljs-comment", code, i, end);
+                i = end;
+            } else if (code.startsWith("<?", i) || code.startsWith("<!", i)) {
+                int end = code.indexOf('>', i);
+                end = end == -1 ? len : end + 1;
+                span(out, "hljs-meta", code, i, end);
+                i = end;
+            } else if (c == '<' && i + 1 < len && (Character.isLetter(code.charAt(i + 1)) || code.charAt(i + 1) == '/')) {
+                i = highlightXmlTag(out, code, i);
+            } else {
+                escape(out, code, i, i + 1);
+                i++;
+            }
+        }
+    }
+
+    private int highlightXmlTag(StringBuilder out, String code, int start) {
+        int len = code.length();
+        out.append("<span class=\"hljs-tag\">");
+        int i = start + 1;
+        if (code.charAt(i) == '/') i++;
+        escape(out, code, start, i);
+
+        int nameEnd = i;
+        while (nameEnd < len && !Character.isWhitespace(code.charAt(nameEnd))
+                && code.charAt(nameEnd) != '>' && code.charAt(nameEnd) != '/') {
+            nameEnd++;
+        }
+        span(out, "hljs-name", code, i, nameEnd);
+        i = nameEnd;
+
+        while (i < len && code.charAt(i) != '>') {
+            char c = code.charAt(i);
+            if (c == '"' || c == '\'') {
+                int end = code.indexOf(c, i + 1);
+                end = end == -1 ? len : end + 1;
+                span(out, "hljs-string", code, i, end);
+                i = end;
+            } else if (Character.isLetter(c)) {
+                int end = i;
+                while (end < len && code.charAt(end) != '=' && code.charAt(end) != '>'
+                        && !Character.isWhitespace(code.charAt(end))) {
+                    end++;
+                }
+                span(out, "hljs-attr", code, i, end);
+                i = end;
+            } else {
+                escape(out, code, i, i + 1);
+                i++;
+            }
+        }
+        if (i < len) {
+            escape(out, code, i, i + 1);
+            i++;
+        }
+        out.append("</span>");
+        return i;
+    }
+
+    // ===== helpers =====
+
+    private static int lineEnd(String code, int from) {
+        int nl = code.indexOf('\n', from);
+        return nl == -1 ? code.length() : nl;
+    }
+
+    private static char nextNonSpace(String code, int from) {
+        for (int i = from; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c != ' ' && c != '\t') return c;
+        }
+        return 0;
+    }
+
+    private static void span(StringBuilder out, String cls, String code, int start, int end) {
+        if (start >= end) return;
+        out.append("<span class=\"").append(cls).append("\">");
+        escape(out, code, start, end);
+        out.append("</span>");
+    }
+
+    private static void escape(StringBuilder out, String code, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = code.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private enum Mode {
+        CODE, YAML, XML
+    }
+
+    /**
+     * Lexing rules for one language
+     */
+    private static final class Language {
+
+        private Mode mode = Mode.CODE;
+        private Set<String> keywords = Set.of();
+        private Set<String> literals = Set.of();
+        private Set<String> builtIns = Set.of();
+        private String lineComment;
+        private String blockCommentStart;
+        private String blockCommentEnd;
+        private String quotes = "";
+        private String[] textBlocks = new String[0];
+        private boolean annotations;
+        private boolean functionTitles;
+        private boolean variables;
+        private boolean stringKeys;
+        private boolean caseInsensitive;
+        private String templateQuotes = "";
+        private boolean bareTemplates;
+        private boolean regexLiterals;
+
+        static Builder builder() {
+            return new Builder();
+        }
+
+        boolean hasTemplates(char quote) {
+            return templateQuotes.indexOf(quote) >= 0;
+        }
+
+        String textBlockAt(String code, int i) {
+            for (String delimiter : textBlocks) {
+                if (code.startsWith(delimiter, i)) return delimiter;
+            }
+            return null;
+        }
+
+        static final class Builder {
+
+            private final Language language = new Language();
+
+            Builder mode(Mode mode) {
+                language.mode = mode;
+                return this;
+            }
+
+            Builder keywords(String... words) {
+                language.keywords = Set.of(words);
+                return this;
+            }
+
+            Builder literals(String... words) {
+                language.literals = Set.of(words);
+                return this;
+            }
+
+            Builder builtIns(String... words) {
+                language.builtIns = Set.of(words);
+                return this;
+            }
+
+            Builder lineComment(String prefix) {
+                language.lineComment = prefix;
+                return this;
+            }
+
+            Builder blockComment(String start, String end) {
+                language.blockCommentStart = start;
+                language.blockCommentEnd = end;
+                return this;
+            }
+
+            Builder quotes(String quoteChars) {
+                language.quotes = quoteChars;
+                return this;
+            }
+
+            Builder textBlocks(String... delimiters) {
+                language.textBlocks = delimiters;
+                return this;
+            }
+
+            Builder annotations() {
+                language.annotations = true;
+                return this;
+            }
+
+            Builder functionTitles() {
+                language.functionTitles = true;
+                return this;
+            }
+
+            Builder variables() {
+                language.variables = true;
+                return this;
+            }
+
+            Builder stringKeys() {
+                language.stringKeys = true;
+                return this;
+            }
+
+            Builder caseInsensitive() {
+                language.caseInsensitive = true;
+                return this;
+            }
+
+            /**
+             * Strings opened by these quotes (and text blocks starting with them) contain ${...} templates;
+             * with {@code bare}, $identifier as well
+             */
+            Builder templates(String quoteChars, boolean bare) {
+                language.templateQuotes = quoteChars;
+                language.bareTemplates = bare;
+                return this;
+            }
+
+            Builder regexLiterals() {
+                language.regexLiterals = true;
+                return this;
+            }
+
+            Language build() {
+                return language;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.config;
+
+import com.example.blog.service.MarkdownPostService;
+import com.example.blog.service.PageCache;
+import com.example.photo.service.PhotoService;
+import com.example.service.ReadThroughCache;
+import com.example.service.UserService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Exposes the counters the application already keeps (caches, pinned virtual threads) as meters.
+ * Values are read at scrape time; nothing is recorded on the request path.
+ * Cache meters follow Micrometer's naming ({@code cache.gets{result=hit|miss}}, {@code cache.size}, ...)
+ * so the usual cache dashboards work.
+ */
+@Component
+public class ApplicationMetrics implements MeterBinder {
+
+    private final PhotoService photoService;
+    private final UserService userService;
+    private final MarkdownPostService markdownPostService;
+    private final ObjectProvider<PageCache> pageCache;
+    private final PinnedThreadMonitor pinnedThreadMonitor;
+
+    public ApplicationMetrics(PhotoService photoService, UserService userService,
+                              MarkdownPostService markdownPostService, ObjectProvider<PageCache> pageCache,
+                              PinnedThreadMonitor pinnedThreadMonitor) {
+        this.photoService = photoService;
+        this.userService = userService;
+        this.markdownPostService = markdownPostService;
+        this.pageCache = pageCache;
+        this.pinnedThreadMonitor = pinnedThreadMonitor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindEntityCache(registry, "photos", photoService, PhotoService::getCacheStats);
+        bindEntityCache(registry, "photo-facets", photoService, PhotoService::getFacetCacheStats);
+        bindEntityCache(registry, "users", userService, UserService::getCacheStats);
+
+        String render = "post-render";
+        cacheGets(registry, render, "hit", markdownPostService, s -> s.getRenderCacheStats().hits());
+        cacheGets(registry, render, "miss", markdownPostService, s -> s.getRenderCacheStats().misses());
+        cacheGauge(registry, "cache.size", render, markdownPostService, s -> s.getRenderCacheStats().size());
+        cacheGauge(registry, "cache.bytes", render, markdownPostService, s -> s.getRenderCacheStats().estimatedBytes());
+
+        // Only exists when blog.page-cache.enabled is set
+        PageCache pages = pageCache.getIfAvailable();
+        if (pages != null) {
+            String page = "page";
+            cacheGets(registry, page, "hit", pages, c -> c.stats().hits());
+            cacheGets(registry, page, "miss", pages, c -> c.stats().misses());
+            FunctionCounter.builder("cache.evictions", pages, c -> c.stats().evictions())
+                    .tag("cache", page)
+                    .register(registry);
+            cacheGauge(registry, "cache.size", page, pages, c -> c.stats().size());
+            cacheGauge(registry, "cache.bytes", page, pages, c -> c.stats().bytes());
+        }
+
+        FunctionCounter.builder("jvm.threads.virtual.pinned", pinnedThreadMonitor, PinnedThreadMonitor::getPinnedCount)
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .register(registry);
+    }
+
+    /**
+     * Meters only hold their source weakly, so it must be the (singleton) service itself, not a method reference
+     */
+    private static <T> void bindEntityCache(MeterRegistry registry, String name, T service,
+                                            Function<T, ReadThroughCache.Stats> stats) {
+        cacheGets(registry, name, "hit", service, s -> stats.apply(s).hits());
+        cacheGets(registry, name, "miss", service, s -> stats.apply(s).misses());
+        FunctionCounter.builder("cache.loads", service, s -> stats.apply(s).loads())
+                .description("Lookups that went to the database (concurrent misses share one load)")
+                .tag("cache", name)
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", service, s -> stats.apply(s).evictions())
+                .tag("cache", name)
+                .register(registry);
+        cacheGauge(registry, "cache.size", name, service, s -> stats.apply(s).size());
+    }
+
+    private static <T> void cacheGets(MeterRegistry registry, String cache, String result, T source, ToDoubleFunction<T> count) {
+        FunctionCounter.builder("cache.gets", source, count)
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static <T> void cacheGauge(MeterRegistry registry, String name, String cache, T source, ToDoubleFunction<T> value) {
+        Gauge.builder(name, source, value)
+                .tag("cache", cache)
+                .register(registry);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Read-through caches in front of single-row lookups (photo / user detail pages)
+ * and of the photo list's facet counts (per filter)
+ */
+@Component
+@ConfigurationProperties(prefix = "entity-cache")
+public class EntityCacheProperties {
+
+    private final Spec photos = new Spec(5000, Duration.ofMinutes(10));
+    private final Spec users = new Spec(2000, Duration.ofMinutes(10));
+    private final Spec photoFacets = new Spec(500, Duration.ofSeconds(30));
+
+    public Spec getPhotos() {
+        return photos;
+    }
+
+    public Spec getUsers() {
+        return users;
+    }
+
+    public Spec getPhotoFacets() {
+        return photoFacets;
+    }
+
+    public static class Spec {
+
+        /**
+         * Entries kept before least recently used ones are dropped; 0 disables the cache
+         */
+        private int maxEntries;
+
+        /**
+         * Upper bound on staleness for changes made outside this application
+         */
+        private Duration ttl;
+
+        Spec(int maxEntries, Duration ttl) {
+            this.maxEntries = maxEntries;
+            this.ttl = ttl;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
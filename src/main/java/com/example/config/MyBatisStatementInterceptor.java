@@ -0,0 +1,110 @@
+package com.example.config;
+
+import com.example.service.StatementStatsService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every mapper statement, once per execution, and reports it twice:
+ * as {@code mybatis.statement{statement=<namespace.id>, command, outcome}} / {@code mybatis.statement.rows} meters,
+ * and to {@link StatementStatsService} for the slow statement log and the /admin/queries page.
+ * Picked up by the MyBatis starter as a plugin; covers execution and result mapping, and second-level cache hits
+ * show up as very fast samples. Cursor statements are not timed (their cost is spent while iterating).
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class MyBatisStatementInterceptor implements Interceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final StatementStatsService statementStatsService;
+    // Statement IDs are a fixed set, so one meter per ID (and outcome) is created once and reused
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    public MyBatisStatementInterceptor(MeterRegistry meterRegistry, StatementStatsService statementStatsService) {
+        this.meterRegistry = meterRegistry;
+        this.statementStatsService = statementStatsService;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        long start = System.nanoTime();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            long rows = failed ? 0 : rows(result);
+            timer(statement, failed ? "error" : "success").record(nanos, TimeUnit.NANOSECONDS);
+            if (!failed) {
+                rowSummary(statement).record(rows);
+            }
+            BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : null;
+            statementStatsService.record(statement, args[1], boundSql, nanos, rows, failed);
+        }
+    }
+
+    /**
+     * Rows returned by a query or affected by an update
+     */
+    private static long rows(Object result) {
+        if (result instanceof List<?> list) {
+            return list.size();
+        }
+        if (result instanceof Number count) {
+            return Math.max(0, count.longValue());
+        }
+        return 0;
+    }
+
+    private Timer timer(MappedStatement statement, String outcome) {
+        return timers.computeIfAbsent(statement.getId() + '|' + outcome, key -> Timer.builder("mybatis.statement")
+                .description("Mapper statement execution, including result mapping")
+                .tag("statement", statement.getId())
+                .tag("command", command(statement))
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private DistributionSummary rowSummary(MappedStatement statement) {
+        return rowSummaries.computeIfAbsent(statement.getId(), key -> DistributionSummary.builder("mybatis.statement.rows")
+                .description("Rows returned or affected per execution")
+                .baseUnit("rows")
+                .tag("statement", statement.getId())
+                .tag("command", command(statement))
+                .register(meterRegistry));
+    }
+
+    private static String command(MappedStatement statement) {
+        return statement.getSqlCommandType().name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Watches for virtual threads that block while pinned to a carrier thread, typically inside a
+ * {@code synchronized} block or a native frame. On Java 21 such a thread holds its carrier for the whole wait,
+ * so a few of them can stall request handling. Each distinct call site is logged once with its stack;
+ * later occurrences only increase the counter.
+ * Only active when the application runs on virtual threads.
+ */
+@Component
+public class PinnedThreadMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Environment environment;
+    private final VirtualThreadProperties properties;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private final LongAdder pinnedCount = new LongAdder();
+    private RecordingStream stream;
+
+    public PinnedThreadMonitor(Environment environment, VirtualThreadProperties properties) {
+        this.environment = environment;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() {
+        VirtualThreadProperties.Pinning pinning = properties.getPinning();
+        if (!pinning.isEnabled() || !Threading.VIRTUAL.isActive(environment)) {
+            return;
+        }
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(pinning.getThreshold()).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::report);
+            recording.startAsync();
+            stream = recording;
+            log.info("Watching for pinned virtual threads (threshold {} ms)", pinning.getThreshold().toMillis());
+        } catch (RuntimeException e) {
+            // JFR can be unavailable (e.g. disabled in the runtime image); the app works without the monitor
+            log.warn("Pinned virtual thread monitor not started: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Pinned blocking events seen since startup
+     */
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    private void report(RecordedEvent event) {
+        pinnedCount.increment();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String stack = frames.stream()
+                .dropWhile(PinnedThreadMonitor::isParkingFrame)
+                .limit(Math.max(1, properties.getPinning().getStackDepth()))
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : ""))
+                .collect(Collectors.joining("\n\tat "));
+        if (reportedSites.add(stack)) {
+            log.warn("Virtual thread pinned for {} ms\n\tat {}", event.getDuration().toMillis(), stack);
+        }
+    }
+
+    /**
+     * JDK frames of the park itself; the interesting part starts below them
+     */
+    private static boolean isParkingFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.equals("java.lang.VirtualThread") || type.startsWith("jdk.internal.")
+                || type.equals("java.util.concurrent.locks.LockSupport");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-statement MyBatis statistics, slow statement logging and the /admin/queries page
+ */
+@Component
+@ConfigurationProperties(prefix = "statement-stats")
+public class StatementStatsProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Executions slower than this are logged with their parameters
+     */
+    private Duration slowThreshold = Duration.ofMillis(200);
+
+    /**
+     * Capture the EXPLAIN plan on a statement's first slow run (on a separate connection, off the request thread)
+     */
+    private boolean explain = true;
+
+    /**
+     * Statements listed on the admin page
+     */
+    private int top = 20;
+
+    /**
+     * Longer parameter values are truncated in the slow statement log
+     */
+    private int maxParameterLength = 200;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    public boolean isExplain() {
+        return explain;
+    }
+
+    public void setExplain(boolean explain) {
+        this.explain = explain;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public void setTop(int top) {
+        this.top = top;
+    }
+
+    public int getMaxParameterLength() {
+        return maxParameterLength;
+    }
+
+    public void setMaxParameterLength(int maxParameterLength) {
+        this.maxParameterLength = maxParameterLength;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Diagnostics for running on virtual threads (spring.threads.virtual.enabled)
+ */
+@Component
+@ConfigurationProperties(prefix = "virtual-threads")
+public class VirtualThreadProperties {
+
+    private final Pinning pinning = new Pinning();
+
+    public Pinning getPinning() {
+        return pinning;
+    }
+
+    /**
+     * Report virtual threads that block while pinned to their carrier (JFR jdk.VirtualThreadPinned)
+     */
+    public static class Pinning {
+
+        private boolean enabled = true;
+
+        /**
+         * Pinned blocking shorter than this is ignored
+         */
+        private Duration threshold = Duration.ofMillis(20);
+
+        /**
+         * Stack frames included in the log line
+         */
+        private int stackDepth = 8;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(Duration threshold) {
+            this.threshold = threshold;
+        }
+
+        public int getStackDepth() {
+            return stackDepth;
+        }
+
+        public void setStackDepth(int stackDepth) {
+            this.stackDepth = stackDepth;
+        }
+    }
+}
@@ -1,9 +1,39 @@
 package com.example.config;
 
+import com.example.blog.config.BlogProperties;
+import com.example.blog.config.PageCacheFilter;
+import com.example.blog.service.MarkdownPostService;
+import com.example.blog.service.PageCache;
 import com.example.photo.config.PhotoProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 /**
  * 
@@ -12,23 +42,140 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private static final List<String> VERSIONED_ASSET_DIRS = List.of("css", "js", "vendor");
+    private static final Pattern VERSIONED_ASSET = Pattern.compile("-[0-9a-f]{32}\\.[^/]+$");
+
     private final PhotoProperties photoProperties;
+    private final BlogProperties blogProperties;
+    private final Map<String, String> assetEtags = new ConcurrentHashMap<>();
 
-    public WebConfig(PhotoProperties photoProperties) {
+    public WebConfig(PhotoProperties photoProperties, BlogProperties blogProperties) {
         this.photoProperties = photoProperties;
+        this.blogProperties = blogProperties;
+    }
+
+    /**
+     * Cache-Control for blog pages.
+     * Pages are public and revalidated with ETag / If-None-Match once max-age expires.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        BlogProperties.Http http = blogProperties.getHttp();
+        CacheControl blogCacheControl = CacheControl.maxAge(http.getMaxAge())
+                .cachePublic()
+                .staleWhileRevalidate(http.getStaleWhileRevalidate());
+
+        WebContentInterceptor interceptor = new WebContentInterceptor();
+        interceptor.addCacheMapping(blogCacheControl, "/blog", "/blog/posts/*", "/blog/categories/*", "/blog/tags/*");
+        registry.addInterceptor(interceptor);
+
+        // Hashed asset URLs never change; plain ones (bookmarks, old pages) must revalidate
+        String immutable = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+        String revalidate = CacheControl.noCache().cachePublic().getHeaderValue();
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                boolean versioned = VERSIONED_ASSET.matcher(request.getRequestURI()).find();
+                response.setHeader(HttpHeaders.CACHE_CONTROL, versioned ? immutable : revalidate);
+                return true;
+            }
+        }).addPathPatterns(VERSIONED_ASSET_DIRS.stream().map(dir -> "/" + dir + "/**").toArray(String[]::new));
+    }
+
+    /**
+     * Full-page cache for blog views, enabled with blog.page-cache.enabled=true
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "blog.page-cache", name = "enabled", havingValue = "true")
+    public PageCache pageCache() {
+        BlogProperties.PageCacheSettings settings = blogProperties.getPageCache();
+        return new PageCache(settings.getMaxSize().toBytes(), settings.getMaxEntries());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "blog.page-cache", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<PageCacheFilter> pageCacheFilter(PageCache pageCache,
+                                                                   MarkdownPostService markdownPostService) {
+        FilterRegistrationBean<PageCacheFilter> registration =
+                new FilterRegistrationBean<>(new PageCacheFilter(pageCache, markdownPostService));
+        registration.addUrlPatterns("/blog", "/blog/posts/*", "/blog/categories/*", "/blog/tags/*");
+        return registration;
+    }
+
+    /**
+     * Uploaded photos: /images/** mapped to the configured upload directory.
+     * File names are content hashes (or one-off UUIDs for older uploads), so a URL never changes content:
+     * cached for a year as immutable, ETag derived from the name, bodies sent through sendfile / FileChannel.
+     * Range requests and Content-Length come from the handler itself (file length, no read).
+     */
+    @Bean
+    public ResourceHttpRequestHandler imageResourceHandler() {
+        ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+        handler.setLocationValues(List.of("file:" + ensureTrailingSlash(photoProperties.getUploadDir())));
+        handler.setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+        handler.setEtagGenerator(WebConfig::fileNameEtag);
+        handler.setResourceHttpMessageConverter(new ZeroCopyResourceConverters.Full());
+        handler.setResourceRegionHttpMessageConverter(new ZeroCopyResourceConverters.Region());
+        return handler;
+    }
+
+    @Bean
+    public SimpleUrlHandlerMapping imageHandlerMapping(ResourceHttpRequestHandler imageResourceHandler) {
+        // Ahead of the catch-all static resource mapping, after controllers
+        return new SimpleUrlHandlerMapping(Map.of("/images/**", imageResourceHandler), Ordered.LOWEST_PRECEDENCE - 10);
     }
 
     /**
-     * Configure resource handlers for serving uploaded photos
-     * Maps /images/** URLs to the configured upload directory
+     * Rewrites @{/css/...} style links in templates to their content-hashed form
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+
+    /**
+     * Static assets under /css, /js and /vendor are addressed by content hash (app-&lt;md5&gt;.css).
+     * Precompressed .gz siblings produced by the build are served when the client accepts gzip.
      */
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String uploadDir = photoProperties.getUploadDir();
-        String resourceLocation = ensureTrailingSlash(uploadDir);
+        for (String dir : VERSIONED_ASSET_DIRS) {
+            registry.addResourceHandler("/" + dir + "/**")
+                    .addResourceLocations("classpath:/static/" + dir + "/")
+                    .setEtagGenerator(this::contentEtag)
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
+
+    /**
+     * Image names are unique per content; the size guards against a file rewritten in place
+     */
+    private static String fileNameEtag(Resource resource) {
+        try {
+            String name = resource.getFilename();
+            if (name == null) {
+                return null;
+            }
+            int dot = name.lastIndexOf('.');
+            return (dot > 0 ? name.substring(0, dot) : name) + "-" + Long.toHexString(resource.contentLength());
+        } catch (IOException e) {
+            return null;
+        }
+    }
 
-        registry.addResourceHandler("/images/**")
-                .addResourceLocations("file:" + resourceLocation);
+    /**
+     * Classpath assets do not change while the application runs, so the digest is computed once per resource
+     */
+    private String contentEtag(Resource resource) {
+        return assetEtags.computeIfAbsent(resource.getDescription(), key -> {
+            try (InputStream in = resource.getInputStream()) {
+                return DigestUtils.md5DigestAsHex(in);
+            } catch (IOException e) {
+                return null;
+            }
+        });
     }
 
     /**
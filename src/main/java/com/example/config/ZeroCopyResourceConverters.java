@@ -0,0 +1,107 @@
+package com.example.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Resource converters that hand file bodies to Tomcat's sendfile, or fall back to {@link FileChannel#transferTo}.
+ * Used for uploaded images; everything else (headers, Range parsing, 304 handling) stays in
+ * {@link org.springframework.web.servlet.resource.ResourceHttpRequestHandler}.
+ */
+public final class ZeroCopyResourceConverters {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Below this a plain copy is cheaper than a sendfile hand-off (same threshold as Tomcat's DefaultServlet)
+     */
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private ZeroCopyResourceConverters() {
+    }
+
+    /**
+     * Full-body responses (200)
+     */
+    public static class Full extends ResourceHttpMessageConverter {
+
+        @Override
+        protected void writeContent(Resource resource, HttpOutputMessage outputMessage) throws IOException {
+            if (!resource.isFile()) {
+                super.writeContent(resource, outputMessage);
+                return;
+            }
+            File file = resource.getFile();
+            transfer(file, 0, file.length(), outputMessage);
+        }
+    }
+
+    /**
+     * Single-range responses (206); multipart/byteranges keeps the default implementation
+     */
+    public static class Region extends ResourceRegionHttpMessageConverter {
+
+        @Override
+        protected void writeResourceRegion(ResourceRegion region, HttpOutputMessage outputMessage) throws IOException {
+            Resource resource = region.getResource();
+            if (!resource.isFile()) {
+                super.writeResourceRegion(region, outputMessage);
+                return;
+            }
+
+            long length = resource.contentLength();
+            long start = region.getPosition();
+            long end = Math.min(start + region.getCount() - 1, length - 1);
+            HttpHeaders headers = outputMessage.getHeaders();
+            headers.add(HttpHeaders.CONTENT_RANGE, "bytes " + start + '-' + end + '/' + length);
+            headers.setContentLength(end - start + 1);
+            transfer(resource.getFile(), start, end - start + 1, outputMessage);
+        }
+    }
+
+    private static void transfer(File file, long position, long count, HttpOutputMessage outputMessage) throws IOException {
+        HttpServletRequest request = currentRequest();
+        if (count >= SENDFILE_MIN_SIZE && request != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat streams the file from the connector after the handler returns; nothing may be written here
+            request.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+            request.setAttribute(SENDFILE_START, position);
+            request.setAttribute(SENDFILE_END, position + count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(outputMessage.getBody());
+            long sent = 0;
+            while (sent < count) {
+                long n = channel.transferTo(position + sent, count - sent, out);
+                if (n <= 0) {
+                    break;
+                }
+                sent += n;
+            }
+        }
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.controller;
+
+import com.example.config.StatementStatsProperties;
+import com.example.service.StatementStatsService;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+/**
+ * Operational pages (restrict /admin at the reverse proxy; the application has no authentication)
+ */
+@Controller
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final StatementStatsService statementStatsService;
+    private final StatementStatsProperties statementStatsProperties;
+
+    public AdminController(StatementStatsService statementStatsService, StatementStatsProperties statementStatsProperties) {
+        this.statementStatsService = statementStatsService;
+        this.statementStatsProperties = statementStatsProperties;
+    }
+
+    /**
+     * Heaviest mapper statements since startup (or the last reset)
+     * GET /admin/queries?sort=total|mean|max|executions|rows|slow
+     */
+    @GetMapping("/queries")
+    public String queries(@RequestParam(value = "sort", defaultValue = "total") String sort, Model model) {
+        model.addAttribute("statements", statementStatsService.top(sort, statementStatsProperties.getTop()));
+        model.addAttribute("statementCount", statementStatsService.getStatementCount());
+        model.addAttribute("sort", sort);
+        model.addAttribute("enabled", statementStatsProperties.isEnabled());
+        model.addAttribute("slowThresholdMillis", statementStatsProperties.getSlowThreshold().toMillis());
+        return "admin/queries";
+    }
+
+    /**
+     * Clear the statistics and captured plans
+     * POST /admin/queries/reset
+     */
+    @PostMapping("/queries/reset")
+    public String resetQueries(RedirectAttributes redirectAttributes) {
+        statementStatsService.reset();
+        redirectAttributes.addFlashAttribute("message", "Statement statistics reset");
+        redirectAttributes.addFlashAttribute("messageType", "success");
+        return "redirect:/admin/queries";
+    }
+}
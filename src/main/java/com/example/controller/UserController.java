@@ -1,12 +1,20 @@
 package com.example.controller;
 
 import com.example.model.User;
+import com.example.model.UserPage;
 import com.example.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * User Controller for handling web requests
  */
@@ -14,6 +22,8 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @RequestMapping("/users")
 public class UserController {
 
+    private static final int PAGE_SIZE = 50;
+
     private final UserService userService;
 
     public UserController(UserService userService) {
@@ -21,15 +31,51 @@ public class UserController {
     }
 
     /**
-     * List all users
+     * List users, newest first, one page at a time
+     * GET /users?cursor={nextCursorOfPreviousPage}
      */
     @GetMapping
-    public String listUsers(Model model) {
-        model.addAttribute("users", userService.getAllUsers());
+    public String listUsers(@RequestParam(value = "cursor", required = false) String cursor, Model model) {
+        UserPage page = userService.getUserPage(cursor, PAGE_SIZE);
+        model.addAttribute("users", page.getUsers());
+        model.addAttribute("cursor", cursor);
+        model.addAttribute("nextCursor", page.getNextCursor());
         model.addAttribute("userCount", userService.getUserCount());
         return "users/list";
     }
 
+    /**
+     * Export all users as CSV
+     * GET /users/export.csv
+     *
+     * Rows are streamed from the database into a local temporary file, and the file is sent only after the
+     * cursor is closed. The pooled connection is therefore held only as long as the database takes to produce
+     * the rows, never for the client's download, so slow clients cannot exhaust the pool. The temporary file
+     * (about the size of the CSV) is deleted once the response is written.
+     */
+    @GetMapping("/export.csv")
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        Path file = Files.createTempFile("users-export-", ".csv");
+        try {
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+                writer.println("id,username,email,full_name,phone_number,created_at,updated_at");
+                userService.exportUsers(user -> writer.println(String.join(",",
+                        String.valueOf(user.getId()), csv(user.getUsername()), csv(user.getEmail()), csv(user.getFullName()),
+                        csv(user.getPhoneNumber()), csv(user.getCreatedAt()), csv(user.getUpdatedAt()))));
+                if (writer.checkError()) {
+                    throw new IOException("Failed to write user export to " + file);
+                }
+            }
+
+            response.setContentType("text/csv;charset=UTF-8");
+            response.setHeader("Content-Disposition", "attachment; filename=\"users.csv\"");
+            response.setContentLengthLong(Files.size(file));
+            Files.copy(file, response.getOutputStream());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
     /**
      * Show user detail
      */
@@ -114,4 +160,22 @@ public class UserController {
         }
         return "redirect:/users";
     }
-}
\ No newline at end of file
+
+    /**
+     * Quote a CSV field when needed (RFC 4180)
+     * Text a spreadsheet would read as a formula (=, +, -, @, tab, CR first) is prefixed with ' so it stays text
+     */
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.dao;
 
 import com.example.model.User;
+import org.apache.ibatis.cursor.Cursor;
 import org.mybatis.spring.SqlSessionTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * User Data Access Object
@@ -12,6 +16,8 @@ import java.util.List;
 @Repository
 public class UserDao {
 
+    private static final String NAMESPACE = "com.example.dao.UserDao.";
+
     private final SqlSessionTemplate sqlSession;
 
     public UserDao(SqlSessionTemplate sqlSession) {
@@ -19,51 +25,85 @@ public class UserDao {
     }
 
     /**
-     * Find all users
+     * Find one page of users, newest first
+     *
+     * @param cursorCreatedAt created_at of the last user on the previous page, null for the first page
+     * @param cursorId        id of that user (breaks created_at ties)
      */
-    public List<User> findAll() {
-        return sqlSession.selectList("com.example.dao.UserDao.findAll");
+    public List<User> findPage(LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("cursorCreatedAt", cursorCreatedAt);
+        params.put("cursorId", cursorId);
+        params.put("limit", limit);
+        return sqlSession.selectList(NAMESPACE + "findPage", params);
+    }
+
+    /**
+     * Stream all users in id order; must be consumed (and closed) inside the calling transaction
+     */
+    public Cursor<User> streamAll() {
+        return sqlSession.selectCursor(NAMESPACE + "streamAll");
     }
 
     /**
      * Find user by ID
      */
     public User findById(Long id) {
-        return sqlSession.selectOne("com.example.dao.UserDao.findById", id);
+        return sqlSession.selectOne(NAMESPACE + "findById", id);
     }
 
     /**
      * Find user by username
      */
     public User findByUsername(String username) {
-        return sqlSession.selectOne("com.example.dao.UserDao.findByUsername", username);
+        return sqlSession.selectOne(NAMESPACE + "findByUsername", username);
     }
 
     /**
      * Insert new user
      */
     public void insert(User user) {
-        sqlSession.insert("com.example.dao.UserDao.insert", user);
+        sqlSession.insert(NAMESPACE + "insert", user);
+    }
+
+    /**
+     * Insert several users in one statement; generated ids are set on the given objects
+     */
+    public void insertAll(List<User> users) {
+        sqlSession.insert(NAMESPACE + "insertAll", users);
     }
 
     /**
      * Update existing user
+     *
+     * @return the updated row, or null if no user has this id
+     */
+    public User update(User user) {
+        return sqlSession.selectOne(NAMESPACE + "update", user);
+    }
+
+    /**
+     * Update several users in one statement
+     *
+     * @return number of updated rows (users that no longer exist are skipped)
      */
-    public void update(User user) {
-        sqlSession.update("com.example.dao.UserDao.update", user);
+    public int updateAll(List<User> users) {
+        return sqlSession.update(NAMESPACE + "updateAll", users);
     }
 
     /**
      * Delete user by ID
+     *
+     * @return number of deleted rows (0 if no user has this id)
      */
-    public void delete(Long id) {
-        sqlSession.delete("com.example.dao.UserDao.delete", id);
+    public int delete(Long id) {
+        return sqlSession.delete(NAMESPACE + "delete", id);
     }
 
     /**
      * Count total users
      */
     public long count() {
-        return sqlSession.selectOne("com.example.dao.UserDao.count");
+        return sqlSession.selectOne(NAMESPACE + "count");
     }
 }
\ No newline at end of file
@@ -28,4 +28,14 @@ public class User {
         this.phoneNumber = phoneNumber;
     }
 
+    /**
+     * Field-by-field copy, so callers can edit a user handed out by the service cache
+     */
+    public User copy() {
+        User copy = new User(username, email, fullName, phoneNumber);
+        copy.id = id;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        return copy;
+    }
 }
\ No newline at end of file
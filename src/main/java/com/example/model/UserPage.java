@@ -0,0 +1,61 @@
+package com.example.model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * One page of the user list, newest first
+ */
+public class UserPage {
+
+    private static final char SEPARATOR = '_';
+
+    private final List<User> users;
+    private final String nextCursor;
+
+    public UserPage(List<User> users, String nextCursor) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * Opaque position to continue after, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Cursor pointing just past the given user ({@code <createdAt>_<id>})
+     */
+    public static String cursorAfter(User user) {
+        return user.getCreatedAt().toString() + SEPARATOR + user.getId();
+    }
+
+    /**
+     * Decode a cursor into the (created_at, id) it points past; null for a missing or malformed cursor
+     */
+    public static Position parseCursor(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        int separator = cursor.lastIndexOf(SEPARATOR);
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            return new Position(LocalDateTime.parse(cursor.substring(0, separator)),
+                    Long.parseLong(cursor.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public record Position(LocalDateTime createdAt, Long id) {
+    }
+}
@@ -2,6 +2,10 @@ package com.example.photo.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Configuration properties for photo upload settings
@@ -12,6 +16,17 @@ public class PhotoProperties {
 
     private String uploadDir;
 
+    /**
+     * Photos per list page
+     */
+    private int pageSize = 30;
+
+    private final Upload upload = new Upload();
+
+    private final Derivatives derivatives = new Derivatives();
+
+    private final BulkImport bulkImport = new BulkImport();
+
     public String getUploadDir() {
         return uploadDir;
     }
@@ -19,4 +34,226 @@ public class PhotoProperties {
     public void setUploadDir(String uploadDir) {
         this.uploadDir = uploadDir;
     }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public Upload getUpload() {
+        return upload;
+    }
+
+    public Derivatives getDerivatives() {
+        return derivatives;
+    }
+
+    public BulkImport getBulkImport() {
+        return bulkImport;
+    }
+
+    /**
+     * Limits applied while streaming an upload to disk
+     */
+    public static class Upload {
+
+        private DataSize maxFileSize = DataSize.ofMegabytes(50);
+
+        /**
+         * Uploads allowed to stream at the same time; others wait up to acquire-timeout
+         */
+        private int maxConcurrent = 4;
+
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Refuse uploads that would leave less than this free on the upload volume
+         */
+        private DataSize minFreeSpace = DataSize.ofMegabytes(512);
+
+        public DataSize getMaxFileSize() {
+            return maxFileSize;
+        }
+
+        public void setMaxFileSize(DataSize maxFileSize) {
+            this.maxFileSize = maxFileSize;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        public void setAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+
+        public DataSize getMinFreeSpace() {
+            return minFreeSpace;
+        }
+
+        public void setMinFreeSpace(DataSize minFreeSpace) {
+            this.minFreeSpace = minFreeSpace;
+        }
+    }
+
+    /**
+     * Resized copies generated in the background after upload
+     */
+    public static class Derivatives {
+
+        private boolean enabled = true;
+
+        /**
+         * Responsive widths (px) offered through srcset; only widths below the original are generated
+         */
+        private List<Integer> widths = List.of(480, 960, 1600);
+
+        /**
+         * Width (px) of the small preview thumbnail
+         */
+        private int thumbnailWidth = 320;
+
+        private float jpegQuality = 0.82f;
+
+        /**
+         * Originals whose header declares more pixels than this are not decoded (no derivatives are made).
+         * A small compressed file can declare a huge image, so this bounds the memory a decode can take.
+         */
+        private long maxPixels = 50_000_000;
+
+        /**
+         * Worker threads; decoding large images is memory heavy, so keep this small
+         */
+        private int threads = 2;
+
+        /**
+         * Pending jobs beyond this are dropped (the original is still served)
+         */
+        private int queueCapacity = 200;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<Integer> getWidths() {
+            return widths;
+        }
+
+        public void setWidths(List<Integer> widths) {
+            this.widths = widths;
+        }
+
+        public int getThumbnailWidth() {
+            return thumbnailWidth;
+        }
+
+        public void setThumbnailWidth(int thumbnailWidth) {
+            this.thumbnailWidth = thumbnailWidth;
+        }
+
+        public float getJpegQuality() {
+            return jpegQuality;
+        }
+
+        public void setJpegQuality(float jpegQuality) {
+            this.jpegQuality = jpegQuality;
+        }
+
+        public long getMaxPixels() {
+            return maxPixels;
+        }
+
+        public void setMaxPixels(long maxPixels) {
+            this.maxPixels = maxPixels;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * Server-side bulk import (manifest + image directory)
+     */
+    public static class BulkImport {
+
+        /**
+         * Directory manifests and images are read from; import is disabled when empty
+         */
+        private String sourceDir;
+
+        /**
+         * Photos stored and inserted per round (one multi-row INSERT per batch)
+         */
+        private int batchSize = 200;
+
+        /**
+         * Files hashed and copied into storage in parallel
+         */
+        private int threads = 4;
+
+        /**
+         * Generate derivatives during the import instead of through the (droppable) background queue
+         */
+        private boolean derivatives = true;
+
+        public String getSourceDir() {
+            return sourceDir;
+        }
+
+        public void setSourceDir(String sourceDir) {
+            this.sourceDir = sourceDir;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public boolean isDerivatives() {
+            return derivatives;
+        }
+
+        public void setDerivatives(boolean derivatives) {
+            this.derivatives = derivatives;
+        }
+    }
 }
@@ -2,20 +2,26 @@ package com.example.photo.controller;
 
 import com.example.photo.config.PhotoProperties;
 import com.example.photo.domain.Photo;
+import com.example.photo.domain.PhotoFilter;
+import com.example.photo.domain.PhotoPage;
+import com.example.photo.service.PhotoDerivativeService;
 import com.example.photo.service.PhotoService;
+import com.example.photo.service.PhotoStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.FlashMap;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.UUID;
 
 /**
  * Photo Controller for handling photo-related web requests
@@ -26,19 +32,34 @@ public class PhotoController {
 
     private final PhotoService photoService;
     private final PhotoProperties photoProperties;
+    private final PhotoStorageService photoStorageService;
+    private final PhotoDerivativeService photoDerivativeService;
 
-    public PhotoController(PhotoService photoService, PhotoProperties photoProperties) {
+    public PhotoController(PhotoService photoService, PhotoProperties photoProperties,
+                           PhotoStorageService photoStorageService, PhotoDerivativeService photoDerivativeService) {
         this.photoService = photoService;
         this.photoProperties = photoProperties;
+        this.photoStorageService = photoStorageService;
+        this.photoDerivativeService = photoDerivativeService;
     }
 
     /**
-     * List all photos
-     * GET /photos
+     * List photos, one page at a time, optionally narrowed by tag / genre / color
+     * GET /photos?tag=&genre=&color=&cursor={lastIdOfPreviousPage}
      */
     @GetMapping
-    public String listPhotos(Model model) {
-        model.addAttribute("photos", photoService.getAllPhotos());
+    public String listPhotos(@RequestParam(value = "tag", required = false) String tag,
+                             @RequestParam(value = "genre", required = false) String genre,
+                             @RequestParam(value = "color", required = false) String color,
+                             @RequestParam(value = "cursor", required = false) Long cursor,
+                             Model model) {
+        PhotoFilter filter = PhotoFilter.of(tag, genre, color);
+        PhotoPage page = photoService.getPhotoPage(filter, cursor, Math.max(1, photoProperties.getPageSize()));
+        model.addAttribute("photos", page.getPhotos());
+        model.addAttribute("cursor", cursor);
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("filter", filter);
+        model.addAttribute("facets", photoService.getFacets(filter));
         return "photos/list";
     }
 
@@ -75,7 +96,8 @@ public class PhotoController {
                             @RequestParam(value = "file", required = false) MultipartFile file,
                             RedirectAttributes redirectAttributes) {
         try {
-            // Handle file upload
+            // Handle file upload (the image path is never taken from the request; it carries a stored reference)
+            photo.setImagePath(null);
             if (file != null && !file.isEmpty()) {
                 String imagePath = saveUploadedFile(file);
                 photo.setImagePath(imagePath);
@@ -86,7 +108,16 @@ public class PhotoController {
             photo.setCreatedAt(now);
             photo.setUpdatedAt(now);
 
-            photoService.createPhoto(photo);
+            try {
+                photoService.createPhoto(photo);
+            } catch (RuntimeException e) {
+                photoStorageService.release(photo.getImagePath());
+                throw e;
+            }
+
+            // Resize in the background; pages use the original until derivatives are ready
+            photoDerivativeService.generateAsync(photo);
+
             redirectAttributes.addFlashAttribute("message", "Photo created successfully!");
             redirectAttributes.addFlashAttribute("messageType", "success");
         } catch (Exception e) {
@@ -137,15 +168,15 @@ public class PhotoController {
             existingPhoto.setShotDate(photo.getShotDate());
 
             // Handle new file upload
+            String storedImagePath = null;
             if (file != null && !file.isEmpty()) {
-                String imagePath = saveUploadedFile(file);
-                existingPhoto.setImagePath(imagePath);
+                storedImagePath = saveUploadedFile(file);
             }
 
             // Update timestamp
             existingPhoto.setUpdatedAt(LocalDateTime.now());
 
-            photoService.updatePhoto(existingPhoto);
+            updateWithImage(existingPhoto, storedImagePath);
             redirectAttributes.addFlashAttribute("message", "Photo updated successfully!");
             redirectAttributes.addFlashAttribute("messageType", "success");
             return "redirect:/photos/" + id;
@@ -156,6 +187,31 @@ public class PhotoController {
         }
     }
 
+    /**
+     * Replace a photo's image with the raw request body (no multipart buffering)
+     * PUT /photos/{id}/image  (Content-Type: image/*)
+     * Returns the new image path
+     */
+    @PutMapping(value = "/{id}/image", consumes = "image/*")
+    @ResponseBody
+    public String uploadImage(@PathVariable Long id, HttpServletRequest request) throws IOException {
+        Photo existingPhoto = photoService.getPhoto(id);
+        if (existingPhoto == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Photo not found");
+        }
+
+        PhotoStorageService.StoredImage stored;
+        try {
+            stored = photoStorageService.store(request.getInputStream(), request.getContentLengthLong());
+        } catch (PhotoStorageService.UploadRejectedException e) {
+            throw new ResponseStatusException(statusFor(e.getReason()), e.getMessage());
+        }
+
+        existingPhoto.setUpdatedAt(LocalDateTime.now());
+        updateWithImage(existingPhoto, stored.imagePath());
+        return stored.imagePath();
+    }
+
     /**
      * Delete photo
      * POST /photos/{id}/delete
@@ -174,32 +230,57 @@ public class PhotoController {
     }
 
     /**
-     * Save uploaded file to disk
-     * Returns browser-accessible path (/images/yyyy/MM/filename)
+     * Multipart body over spring.servlet.multipart limits (parsing stops as soon as the limit is hit)
      */
-    private String saveUploadedFile(MultipartFile file) throws IOException {
-        // Create date-based directory structure: yyyy/MM
-        LocalDateTime now = LocalDateTime.now();
-        String yearMonth = now.format(DateTimeFormatter.ofPattern("yyyy/MM"));
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public String handleUploadTooLarge(HttpServletRequest request) {
+        FlashMap flashMap = RequestContextUtils.getOutputFlashMap(request);
+        flashMap.put("message", "Error uploading photo: file is too large");
+        flashMap.put("messageType", "error");
+        return "redirect:/photos";
+    }
 
-        Path uploadPath = Paths.get(photoProperties.getUploadDir(), yearMonth);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+    /**
+     * Update the photo, switching to a newly stored image if one was uploaded.
+     * The stored image's reference is given back if the update fails or the content did not change.
+     */
+    private void updateWithImage(Photo photo, String storedImagePath) {
+        boolean imageChanged = storedImagePath != null && !storedImagePath.equals(photo.getImagePath());
+        if (imageChanged) {
+            // The update clears the old derivatives when the image path changes
+            photo.setImagePath(storedImagePath);
         }
 
-        // Generate unique filename: UUID + original extension
-        String originalFilename = file.getOriginalFilename();
-        String extension = "";
-        if (originalFilename != null && originalFilename.contains(".")) {
-            extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+        try {
+            photoService.updatePhoto(photo);
+        } catch (RuntimeException e) {
+            photoStorageService.release(storedImagePath);
+            throw e;
         }
-        String filename = UUID.randomUUID().toString() + extension;
 
-        // Save file
-        Path filePath = uploadPath.resolve(filename);
-        file.transferTo(filePath.toFile());
+        if (imageChanged) {
+            photoDerivativeService.generateAsync(photo);
+        } else if (storedImagePath != null) {
+            photoStorageService.release(storedImagePath);
+        }
+    }
+
+    /**
+     * Stream uploaded file to content-addressed storage
+     * Returns browser-accessible path (/images/ab/cd/sha256.ext)
+     */
+    private String saveUploadedFile(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return photoStorageService.store(in, file.getSize()).imagePath();
+        }
+    }
 
-        // Return browser-accessible path
-        return "/images/" + yearMonth + "/" + filename;
+    private static HttpStatus statusFor(PhotoStorageService.Reason reason) {
+        return switch (reason) {
+            case TOO_LARGE -> HttpStatus.PAYLOAD_TOO_LARGE;
+            case UNSUPPORTED_TYPE -> HttpStatus.UNSUPPORTED_MEDIA_TYPE;
+            case BUSY -> HttpStatus.SERVICE_UNAVAILABLE;
+            case INSUFFICIENT_STORAGE -> HttpStatus.INSUFFICIENT_STORAGE;
+        };
     }
 }
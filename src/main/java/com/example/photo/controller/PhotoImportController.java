@@ -0,0 +1,62 @@
+package com.example.photo.controller;
+
+import com.example.photo.service.PhotoImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Bulk photo import API (files must already be in photo.bulk-import.source-dir on the server)
+ */
+@RestController
+@RequestMapping("/photos/import")
+public class PhotoImportController {
+
+    private final PhotoImportService photoImportService;
+
+    public PhotoImportController(PhotoImportService photoImportService) {
+        this.photoImportService = photoImportService;
+    }
+
+    /**
+     * Start an import
+     * POST /photos/import?manifest=batch-01/manifest.jsonl[&dir=batch-01/images]
+     */
+    @PostMapping
+    public ResponseEntity<PhotoImportService.ImportProgress> startImport(@RequestParam("manifest") String manifest,
+                                                                         @RequestParam(value = "dir", required = false) String dir) {
+        requireEnabled();
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(photoImportService.start(manifest, dir));
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Progress and throughput of the running (or last) import
+     * GET /photos/import
+     */
+    @GetMapping
+    public PhotoImportService.ImportProgress getProgress() {
+        requireEnabled();
+        PhotoImportService.ImportProgress progress = photoImportService.getProgress();
+        if (progress == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No import has run yet");
+        }
+        return progress;
+    }
+
+    private void requireEnabled() {
+        if (!photoImportService.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Bulk import is disabled");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.photo.domain;
+
+/**
+ * Number of photos sharing one tag, genre or color value
+ */
+public class FacetCount {
+
+    private String value;
+    private long count;
+
+    // Getters and Setters
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
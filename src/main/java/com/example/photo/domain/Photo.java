@@ -17,9 +17,31 @@ public class Photo {
     private String color;
     private LocalDate shotDate;
     private String imagePath;
+    private String thumbnailPath;
+    private String imageSrcset;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * Field-by-field copy, so callers can edit a photo handed out by the service cache
+     */
+    public Photo copy() {
+        Photo copy = new Photo();
+        copy.id = id;
+        copy.title = title;
+        copy.description = description;
+        copy.tags = tags;
+        copy.genre = genre;
+        copy.color = color;
+        copy.shotDate = shotDate;
+        copy.imagePath = imagePath;
+        copy.thumbnailPath = thumbnailPath;
+        copy.imageSrcset = imageSrcset;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        return copy;
+    }
+
     // Getters and Setters
 
     public Long getId() {
@@ -86,6 +108,25 @@ public class Photo {
         this.imagePath = imagePath;
     }
 
+    public String getThumbnailPath() {
+        return thumbnailPath;
+    }
+
+    public void setThumbnailPath(String thumbnailPath) {
+        this.thumbnailPath = thumbnailPath;
+    }
+
+    /**
+     * Ready-to-use srcset value ("/images/... 480w, /images/... 960w"), null until derivatives exist
+     */
+    public String getImageSrcset() {
+        return imageSrcset;
+    }
+
+    public void setImageSrcset(String imageSrcset) {
+        this.imageSrcset = imageSrcset;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
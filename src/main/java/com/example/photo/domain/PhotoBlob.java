@@ -0,0 +1,57 @@
+package com.example.photo.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored image file, named by its SHA-256 and shared by every photo that uploaded the same bytes
+ */
+public class PhotoBlob {
+
+    private String sha256;
+    private String imagePath;
+    private long sizeBytes;
+    private int refCount;
+    private LocalDateTime createdAt;
+
+    // Getters and Setters
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public String getImagePath() {
+        return imagePath;
+    }
+
+    public void setImagePath(String imagePath) {
+        this.imagePath = imagePath;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
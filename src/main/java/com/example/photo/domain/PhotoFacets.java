@@ -0,0 +1,31 @@
+package com.example.photo.domain;
+
+import java.util.List;
+
+/**
+ * Facet counts for the photos matching the current filter, most common first
+ */
+public class PhotoFacets {
+
+    private final List<FacetCount> tags;
+    private final List<FacetCount> genres;
+    private final List<FacetCount> colors;
+
+    public PhotoFacets(List<FacetCount> tags, List<FacetCount> genres, List<FacetCount> colors) {
+        this.tags = tags;
+        this.genres = genres;
+        this.colors = colors;
+    }
+
+    public List<FacetCount> getTags() {
+        return tags;
+    }
+
+    public List<FacetCount> getGenres() {
+        return genres;
+    }
+
+    public List<FacetCount> getColors() {
+        return colors;
+    }
+}
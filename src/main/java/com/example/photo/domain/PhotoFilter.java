@@ -0,0 +1,95 @@
+package com.example.photo.domain;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Tag / genre / color selection for the photo list; blank values mean "any"
+ */
+public class PhotoFilter {
+
+    private final String tag;
+    private final String genre;
+    private final String color;
+
+    private PhotoFilter(String tag, String genre, String color) {
+        this.tag = tag;
+        this.genre = genre;
+        this.color = color;
+    }
+
+    /**
+     * Tags are matched lower-cased (as stored in photos.tag_list); genre and color case-insensitively
+     */
+    public static PhotoFilter of(String tag, String genre, String color) {
+        String normalizedTag = normalize(tag);
+        return new PhotoFilter(normalizedTag == null ? null : normalizedTag.toLowerCase(Locale.ROOT),
+                normalize(genre), normalize(color));
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public boolean isEmpty() {
+        return tag == null && genre == null && color == null;
+    }
+
+    public PhotoFilter withTag(String tag) {
+        return of(tag, genre, color);
+    }
+
+    public PhotoFilter withGenre(String genre) {
+        return of(tag, genre, color);
+    }
+
+    public PhotoFilter withColor(String color) {
+        return of(tag, genre, color);
+    }
+
+    /**
+     * Query string for this filter ("" when empty), optionally continuing after a cursor
+     */
+    public String toQueryString(Long cursor) {
+        StringJoiner query = new StringJoiner("&", "?", "").setEmptyValue("");
+        append(query, "tag", tag);
+        append(query, "genre", genre);
+        append(query, "color", color);
+        append(query, "cursor", cursor == null ? null : cursor.toString());
+        return query.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PhotoFilter other
+                && Objects.equals(tag, other.tag)
+                && Objects.equals(genre, other.genre)
+                && Objects.equals(color, other.color);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tag, genre, color);
+    }
+
+    private static void append(StringJoiner query, String name, String value) {
+        if (value != null) {
+            query.add(name + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
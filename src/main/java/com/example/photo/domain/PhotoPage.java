@@ -0,0 +1,28 @@
+package com.example.photo.domain;
+
+import java.util.List;
+
+/**
+ * One page of the photo list, newest first
+ */
+public class PhotoPage {
+
+    private final List<PhotoSummary> photos;
+    private final Long nextCursor;
+
+    public PhotoPage(List<PhotoSummary> photos, Long nextCursor) {
+        this.photos = photos;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<PhotoSummary> getPhotos() {
+        return photos;
+    }
+
+    /**
+     * Id to continue after (exclusive), or null if this is the last page
+     */
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
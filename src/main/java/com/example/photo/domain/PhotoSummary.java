@@ -0,0 +1,28 @@
+package com.example.photo.domain;
+
+/**
+ * Lightweight photo row for list pages (no description or other wide columns)
+ */
+public class PhotoSummary {
+
+    private Long id;
+    private String title;
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+}
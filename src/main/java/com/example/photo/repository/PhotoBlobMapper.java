@@ -0,0 +1,26 @@
+package com.example.photo.repository;
+
+import com.example.photo.domain.PhotoBlob;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * MyBatis mapper for reference-counted image files
+ */
+@Mapper
+public interface PhotoBlobMapper {
+
+    /**
+     * Register a new reference, creating the row on first upload of the content
+     */
+    void acquire(PhotoBlob blob);
+
+    /**
+     * Drop one reference; returns 0 if the path is not a tracked blob
+     */
+    int release(String imagePath);
+
+    /**
+     * Remove the row once nothing references it; returns 1 if the file may be deleted
+     */
+    int deleteUnreferenced(String imagePath);
+}
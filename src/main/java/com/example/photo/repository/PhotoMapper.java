@@ -1,7 +1,11 @@
 package com.example.photo.repository;
 
+import com.example.photo.domain.FacetCount;
 import com.example.photo.domain.Photo;
+import com.example.photo.domain.PhotoFilter;
+import com.example.photo.domain.PhotoSummary;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
 
@@ -12,9 +16,24 @@ import java.util.List;
 public interface PhotoMapper {
 
     /**
-     * Find all photos ordered by id descending
+     * Find one page of matching photos ordered by id descending, starting after the cursor id (null for the first page)
      */
-    List<Photo> findAll();
+    List<PhotoSummary> findPage(@Param("filter") PhotoFilter filter, @Param("cursor") Long cursor, @Param("limit") int limit);
+
+    /**
+     * Most common tags among matching photos
+     */
+    List<FacetCount> countTags(@Param("filter") PhotoFilter filter, @Param("limit") int limit);
+
+    /**
+     * Most common genres among matching photos
+     */
+    List<FacetCount> countGenres(@Param("filter") PhotoFilter filter, @Param("limit") int limit);
+
+    /**
+     * Most common colors among matching photos
+     */
+    List<FacetCount> countColors(@Param("filter") PhotoFilter filter, @Param("limit") int limit);
 
     /**
      * Find a photo by id
@@ -26,13 +45,27 @@ public interface PhotoMapper {
      */
     void insert(Photo photo);
 
+    /**
+     * Insert several photos with one multi-row INSERT; generated ids are set on the given objects
+     */
+    void insertBatch(@Param("photos") List<Photo> photos);
+
     /**
      * Update an existing photo
+     *
+     * @return id and image path of the row before the update (only those two are set), null if not found
+     */
+    Photo update(Photo photo);
+
+    /**
+     * Store generated derivative paths, unless the image was replaced in the meantime
      */
-    void update(Photo photo);
+    void updateDerivatives(Photo photo);
 
     /**
      * Delete a photo by id
+     *
+     * @return id and image path of the deleted row (only those two are set), null if not found
      */
-    void delete(Long id);
+    Photo delete(Long id);
 }
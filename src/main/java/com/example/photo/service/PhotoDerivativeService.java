@@ -0,0 +1,282 @@
+package com.example.photo.service;
+
+import com.example.photo.config.PhotoProperties;
+import com.example.photo.domain.Photo;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates resized copies of uploaded photos (responsive widths + thumbnail) off the request thread.
+ * Derivatives are written next to the original as {@code <name>-<width>w.<ext>} and {@code <name>-thumb.<ext>};
+ * until a job finishes the pages simply fall back to the original image.
+ */
+@Service
+public class PhotoDerivativeService {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoDerivativeService.class);
+
+    private static final String IMAGE_URL_PREFIX = "/images/";
+
+    private final PhotoService photoService;
+    private final PhotoProperties photoProperties;
+    private final ThreadPoolExecutor executor;
+
+    public PhotoDerivativeService(PhotoService photoService, PhotoProperties photoProperties) {
+        this.photoService = photoService;
+        this.photoProperties = photoProperties;
+
+        PhotoProperties.Derivatives settings = photoProperties.getDerivatives();
+        int threads = Math.max(1, settings.getThreads());
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity())),
+                r -> {
+                    Thread t = new Thread(r, "photo-derivatives-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queue derivative generation for the photo's current image.
+     * Never blocks the caller: when the queue is full the job is dropped and the original keeps being served.
+     */
+    public void generateAsync(Photo photo) {
+        if (!photoProperties.getDerivatives().isEnabled() || photo.getId() == null || photo.getImagePath() == null) {
+            return;
+        }
+        Long id = photo.getId();
+        String imagePath = photo.getImagePath();
+        try {
+            executor.execute(() -> generate(id, imagePath));
+        } catch (RejectedExecutionException e) {
+            log.warn("Derivative queue full, skipping photo {} ({})", id, imagePath);
+        }
+    }
+
+    /**
+     * Generate derivatives on the calling thread (bulk import, where dropping jobs is not acceptable)
+     */
+    public void generate(Photo photo) {
+        if (photoProperties.getDerivatives().isEnabled() && photo.getId() != null && photo.getImagePath() != null) {
+            generate(photo.getId(), photo.getImagePath());
+        }
+    }
+
+    private void generate(Long id, String imagePath) {
+        long start = System.nanoTime();
+        try {
+            Path original = resolve(imagePath);
+            if (original == null || !Files.isRegularFile(original)) {
+                log.warn("Original image not found for photo {}: {}", id, imagePath);
+                return;
+            }
+
+            PhotoProperties.Derivatives settings = photoProperties.getDerivatives();
+            TreeSet<Integer> widths = new TreeSet<>(settings.getWidths());
+            widths.add(settings.getThumbnailWidth());
+
+            Decoded decoded = decode(original, widths.last(), settings.getMaxPixels());
+            if (decoded == null) {
+                log.info("Unsupported image format, no derivatives for photo {}: {}", id, imagePath);
+                return;
+            }
+            if (decoded.image() == null) {
+                log.warn("Image too large to resize ({}x{} px), no derivatives for photo {}: {}",
+                        decoded.width(), decoded.height(), id, imagePath);
+                return;
+            }
+
+            BufferedImage source = decoded.image();
+            boolean alpha = source.getColorModel().hasAlpha();
+            String extension = alpha ? "png" : "jpg";
+            String baseName = stripExtension(original.getFileName().toString());
+            String baseUrl = imagePath.substring(0, imagePath.lastIndexOf('/') + 1);
+            int originalWidth = decoded.width();
+
+            // Largest first so every step scales down from the previous (already smaller) result
+            List<String> srcset = new ArrayList<>();
+            String thumbnailPath = null;
+            BufferedImage current = source;
+            for (int width : widths.descendingSet()) {
+                if (width <= 0 || width >= originalWidth) {
+                    continue;
+                }
+                current = scaleToWidth(current, width, alpha);
+                boolean thumbnail = width == settings.getThumbnailWidth();
+                String fileName = baseName + (thumbnail ? "-thumb." : "-" + width + "w.") + extension;
+                Path target = original.resolveSibling(fileName);
+                if (!Files.exists(target)) {
+                    // Content-addressed originals are shared, so another photo may already have produced it
+                    write(current, target, extension, settings.getJpegQuality());
+                }
+                if (thumbnail) {
+                    thumbnailPath = baseUrl + fileName;
+                }
+                if (settings.getWidths().contains(width)) {
+                    srcset.add(0, baseUrl + fileName + " " + width + "w");
+                }
+            }
+
+            // Small originals are already a reasonable candidate; huge ones are left out on purpose
+            int largest = settings.getWidths().stream().mapToInt(Integer::intValue).max().orElse(0);
+            if (originalWidth <= largest) {
+                srcset.add(imagePath + " " + originalWidth + "w");
+            }
+
+            Photo derivatives = new Photo();
+            derivatives.setId(id);
+            derivatives.setImagePath(imagePath);
+            derivatives.setThumbnailPath(thumbnailPath != null ? thumbnailPath : imagePath);
+            derivatives.setImageSrcset(srcset.size() > 1 ? String.join(", ", srcset) : null);
+            photoService.updateDerivatives(derivatives);
+
+            log.info("Generated {} derivative(s) for photo {} in {} ms", srcset.size(), id,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            log.warn("Failed to generate derivatives for photo {}: {}", id, e.getMessage());
+        }
+    }
+
+    /**
+     * Read the dimensions from the header, then decode only as many pixels as the largest derivative needs.
+     * Returns null for unsupported formats, and a result without an image when the original exceeds maxPixels.
+     */
+    private static Decoded decode(Path original, int largestWidth, long maxPixels) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    return new Decoded(null, width, height);
+                }
+
+                // Every n-th pixel is enough as long as the result stays at least as wide as the largest derivative
+                int subsampling = Math.max(1, width / Math.max(1, largestWidth));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return new Decoded(reader.read(0, param), width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Decoded (possibly subsampled) image plus the original's dimensions from its header
+     */
+    private record Decoded(BufferedImage image, int width, int height) {
+    }
+
+    /**
+     * Halve repeatedly until close to the target so bilinear sampling does not skip pixels
+     */
+    private BufferedImage scaleToWidth(BufferedImage source, int targetWidth, boolean alpha) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    /**
+     * Write through a temporary file so readers never see a half-written derivative
+     */
+    private void write(BufferedImage image, Path target, String extension, float quality) throws IOException {
+        Path partial = target.resolveSibling("." + target.getFileName() + ".part");
+        try {
+            if ("png".equals(extension)) {
+                ImageIO.write(image, "png", partial.toFile());
+            } else {
+                ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+                try (ImageOutputStream out = ImageIO.createImageOutputStream(partial.toFile())) {
+                    writer.setOutput(out);
+                    ImageWriteParam param = writer.getDefaultWriteParam();
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(quality);
+                    writer.write(null, new IIOImage(image, null, null), param);
+                } finally {
+                    writer.dispose();
+                }
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    /**
+     * Map a browser path (/images/yyyy/MM/file) back to the upload directory
+     */
+    private Path resolve(String imagePath) {
+        if (!imagePath.startsWith(IMAGE_URL_PREFIX)) {
+            return null;
+        }
+        Path root = Paths.get(photoProperties.getUploadDir()).toAbsolutePath().normalize();
+        Path file = root.resolve(imagePath.substring(IMAGE_URL_PREFIX.length())).normalize();
+        return file.startsWith(root) ? file : null;
+    }
+
+    private static String stripExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.photo.service;
+
+import com.example.photo.config.PhotoProperties;
+import com.example.photo.domain.Photo;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulk import of photos from a manifest on the server.
+ *
+ * The manifest is JSON Lines, one photo per line:
+ * {@code {"file": "2024/sunset.jpg", "title": "Sunset", "tags": "sea, evening", "genre": "landscape", "color": "orange", "shotDate": "2024-07-01"}}
+ * ({@code file} is relative to the image directory). It is streamed in batches: each batch's files are copied
+ * into storage in parallel, then inserted with a single multi-row INSERT. One import runs at a time.
+ */
+@Service
+public class PhotoImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoImportService.class);
+
+    /**
+     * Keeps one INSERT well below PostgreSQL's bind parameter limit
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final PhotoService photoService;
+    private final PhotoStorageService photoStorageService;
+    private final PhotoDerivativeService photoDerivativeService;
+    private final PhotoProperties photoProperties;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<ImportJob> currentJob = new AtomicReference<>();
+
+    public PhotoImportService(PhotoService photoService, PhotoStorageService photoStorageService,
+                              PhotoDerivativeService photoDerivativeService, PhotoProperties photoProperties,
+                              ObjectMapper objectMapper) {
+        this.photoService = photoService;
+        this.photoStorageService = photoStorageService;
+        this.photoDerivativeService = photoDerivativeService;
+        this.photoProperties = photoProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean isEnabled() {
+        return StringUtils.hasText(photoProperties.getBulkImport().getSourceDir());
+    }
+
+    /**
+     * Start importing in the background
+     *
+     * @param manifest manifest path, relative to the configured source directory
+     * @param imageDir image directory relative to the source directory, or null for the manifest's directory
+     * @throws IllegalStateException if another import is still running
+     */
+    public ImportProgress start(String manifest, String imageDir) {
+        Path root = Paths.get(photoProperties.getBulkImport().getSourceDir()).toAbsolutePath().normalize();
+        Path manifestPath = resolveInside(root, manifest);
+        if (!Files.isRegularFile(manifestPath)) {
+            throw new IllegalArgumentException("Manifest not found: " + manifest);
+        }
+        Path imageRoot = StringUtils.hasText(imageDir) ? resolveInside(root, imageDir) : manifestPath.getParent();
+        if (!Files.isDirectory(imageRoot)) {
+            throw new IllegalArgumentException("Image directory not found: " + imageDir);
+        }
+
+        ImportJob job = new ImportJob(root.relativize(manifestPath).toString(), imageRoot);
+        ImportJob previous = currentJob.get();
+        if ((previous != null && previous.isRunning()) || !currentJob.compareAndSet(previous, job)) {
+            throw new IllegalStateException("An import is already running");
+        }
+
+        Thread thread = new Thread(() -> run(job, manifestPath), "photo-import");
+        thread.setDaemon(true);
+        thread.start();
+        return job.progress();
+    }
+
+    /**
+     * Progress of the running or last finished import, null if none has run
+     */
+    public ImportProgress getProgress() {
+        ImportJob job = currentJob.get();
+        return job != null ? job.progress() : null;
+    }
+
+    private void run(ImportJob job, Path manifestPath) {
+        PhotoProperties.BulkImport settings = photoProperties.getBulkImport();
+        int batchSize = Math.min(MAX_BATCH_SIZE, Math.max(1, settings.getBatchSize()));
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, settings.getThreads()), r -> {
+            Thread t = new Thread(r, "photo-import-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        log.info("Photo import started: {} (batch size {}, {} threads)", job.manifest, batchSize, settings.getThreads());
+        // Whatever happens below, the job leaves RUNNING in the finally block so later imports can start
+        State outcome = State.FAILED;
+        String error = "Import stopped unexpectedly";
+        try (MappingIterator<ManifestEntry> entries = objectMapper.readerFor(ManifestEntry.class).readValues(manifestPath.toFile())) {
+            List<ManifestEntry> batch = new ArrayList<>(batchSize);
+            while (entries.hasNextValue() && !job.cancelled) {
+                batch.add(entries.nextValue());
+                if (batch.size() == batchSize) {
+                    importBatch(job, batch, workers, settings.isDerivatives());
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty() && !job.cancelled) {
+                importBatch(job, batch, workers, settings.isDerivatives());
+            }
+            outcome = job.cancelled ? State.CANCELLED : State.COMPLETED;
+            error = null;
+        } catch (Exception e) {
+            // A malformed manifest line stops the import; batches before it stay imported
+            error = describe(e);
+        } catch (Error e) {
+            error = describe(e);
+            throw e;
+        } finally {
+            job.finish(outcome, error);
+            workers.shutdownNow();
+        }
+
+        ImportProgress progress = job.progress();
+        log.info("Photo import {}: {} imported, {} failed in {} ms ({} photos/s, {} MB/s){}",
+                progress.state().name().toLowerCase(Locale.ROOT), progress.imported(), progress.failed(), progress.elapsedMillis(),
+                String.format("%.1f", progress.photosPerSecond()), String.format("%.1f", progress.megabytesPerSecond()),
+                progress.error() != null ? " - " + progress.error() : "");
+    }
+
+    private void importBatch(ImportJob job, List<ManifestEntry> batch, ExecutorService workers, boolean derivatives) {
+        job.read.add(batch.size());
+
+        List<CompletableFuture<Photo>> stored = new ArrayList<>(batch.size());
+        for (ManifestEntry entry : batch) {
+            stored.add(CompletableFuture.supplyAsync(() -> store(job, entry), workers));
+        }
+        List<Photo> photos = new ArrayList<>(batch.size());
+        for (CompletableFuture<Photo> future : stored) {
+            Photo photo = future.join();
+            if (photo != null) {
+                photos.add(photo);
+            }
+        }
+
+        if (photos.isEmpty()) {
+            return;
+        }
+        try {
+            photoService.importPhotos(photos);
+        } catch (RuntimeException e) {
+            log.warn("Photo import batch of {} failed: {}", photos.size(), e.getMessage());
+            photos.forEach(photo -> photoStorageService.release(photo.getImagePath()));
+            job.failed.add(photos.size());
+            return;
+        }
+        job.imported.add(photos.size());
+
+        if (derivatives) {
+            CompletableFuture.allOf(photos.stream()
+                    .map(photo -> CompletableFuture.runAsync(() -> photoDerivativeService.generate(photo), workers))
+                    .toArray(CompletableFuture[]::new)).join();
+        }
+
+        ImportProgress progress = job.progress();
+        log.info("Photo import progress: {} read, {} imported, {} failed ({} photos/s)",
+                progress.read(), progress.imported(), progress.failed(), String.format("%.1f", progress.photosPerSecond()));
+    }
+
+    /**
+     * Copy one file into storage; null (counted as failed) if the entry is unusable
+     */
+    private Photo store(ImportJob job, ManifestEntry entry) {
+        try {
+            if (!StringUtils.hasText(entry.title()) || !StringUtils.hasText(entry.file())) {
+                throw new IllegalArgumentException("file and title are required");
+            }
+            Path file = resolveInside(job.imageRoot, entry.file());
+            if (!Files.isRegularFile(file)) {
+                throw new IllegalArgumentException("file not found");
+            }
+            PhotoStorageService.StoredImage image = photoStorageService.importFile(file);
+            job.bytes.add(image.size());
+
+            Photo photo = new Photo();
+            photo.setTitle(entry.title().trim());
+            photo.setDescription(entry.description());
+            photo.setTags(entry.tags());
+            photo.setGenre(entry.genre());
+            photo.setColor(entry.color());
+            photo.setShotDate(entry.shotDate());
+            photo.setImagePath(image.imagePath());
+            LocalDateTime now = LocalDateTime.now();
+            photo.setCreatedAt(now);
+            photo.setUpdatedAt(now);
+            return photo;
+        } catch (Exception e) {
+            log.warn("Skipping import entry {}: {}", entry.file(), e.getMessage());
+            job.failed.increment();
+            return null;
+        }
+    }
+
+    /**
+     * Message for the progress report; never null, since a null error would read as success
+     */
+    private static String describe(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return Objects.requireNonNullElse(cause.getMessage(), cause.getClass().getName());
+    }
+
+    private static Path resolveInside(Path root, String relative) {
+        Path path = root.resolve(relative).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Path outside the import directory: " + relative);
+        }
+        return path;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ImportJob job = currentJob.get();
+        if (job != null) {
+            job.cancelled = true;
+        }
+    }
+
+    /**
+     * One manifest line
+     */
+    public record ManifestEntry(String file, String title, String description, String tags,
+                                String genre, String color, LocalDate shotDate) {
+    }
+
+    /**
+     * CANCELLED: stopped by application shutdown; batches finished before that stay imported
+     */
+    public enum State {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    /**
+     * Snapshot of an import's counters and throughput
+     */
+    public record ImportProgress(State state, String manifest, long read, long imported, long failed, long bytes,
+                                 long elapsedMillis, double photosPerSecond, double megabytesPerSecond, String error) {
+    }
+
+    private static final class ImportJob {
+
+        private final String manifest;
+        private final Path imageRoot;
+        private final long startNanos = System.nanoTime();
+        private final LongAdder read = new LongAdder();
+        private final LongAdder imported = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private volatile boolean cancelled;
+        private volatile long endNanos;
+        private volatile State state = State.RUNNING;
+        private volatile String error;
+
+        private ImportJob(String manifest, Path imageRoot) {
+            this.manifest = manifest;
+            this.imageRoot = imageRoot;
+        }
+
+        boolean isRunning() {
+            return state == State.RUNNING;
+        }
+
+        void finish(State state, String error) {
+            this.error = error;
+            this.endNanos = System.nanoTime();
+            this.state = state;
+        }
+
+        ImportProgress progress() {
+            long end = state == State.RUNNING ? System.nanoTime() : endNanos;
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+            double seconds = Math.max(elapsedMillis, 1) / 1000.0;
+            long importedCount = imported.sum();
+            long byteCount = bytes.sum();
+            return new ImportProgress(state, manifest, read.sum(), importedCount, failed.sum(), byteCount,
+                    elapsedMillis, importedCount / seconds, byteCount / (1024.0 * 1024.0) / seconds, error);
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package com.example.photo.service;
 
+import com.example.config.EntityCacheProperties;
 import com.example.photo.repository.PhotoMapper;
 import com.example.photo.domain.Photo;
+import com.example.photo.domain.PhotoFacets;
+import com.example.photo.domain.PhotoFilter;
+import com.example.photo.domain.PhotoPage;
+import com.example.photo.domain.PhotoSummary;
+import com.example.service.ReadThroughCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Photo Service layer
@@ -14,26 +23,56 @@ import java.util.List;
 @Transactional
 public class PhotoService {
 
+    private static final int FACET_LIMIT = 20;
+
     private final PhotoMapper photoMapper;
+    private final PhotoStorageService photoStorageService;
+    private final ReadThroughCache<Long, Photo> photoCache;
+    private final ReadThroughCache<PhotoFilter, PhotoFacets> facetCache;
 
-    public PhotoService(PhotoMapper photoMapper) {
+    public PhotoService(PhotoMapper photoMapper, PhotoStorageService photoStorageService,
+                        EntityCacheProperties cacheProperties) {
         this.photoMapper = photoMapper;
+        this.photoStorageService = photoStorageService;
+        EntityCacheProperties.Spec spec = cacheProperties.getPhotos();
+        this.photoCache = new ReadThroughCache<>("photos", spec.getMaxEntries(), spec.getTtl());
+        EntityCacheProperties.Spec facetSpec = cacheProperties.getPhotoFacets();
+        this.facetCache = new ReadThroughCache<>("photo-facets", facetSpec.getMaxEntries(), facetSpec.getTtl());
     }
 
     /**
-     * Get all photos
+     * Get one page of photos matching the filter, newest first
+     * One extra row is fetched to tell whether another page follows
      */
     @Transactional(readOnly = true)
-    public List<Photo> getAllPhotos() {
-        return photoMapper.findAll();
+    public PhotoPage getPhotoPage(PhotoFilter filter, Long cursor, int size) {
+        List<PhotoSummary> photos = photoMapper.findPage(filter, cursor, size + 1);
+        if (photos.size() <= size) {
+            return new PhotoPage(photos, null);
+        }
+        List<PhotoSummary> page = photos.subList(0, size);
+        return new PhotoPage(page, page.get(size - 1).getId());
     }
 
     /**
-     * Get photo by ID
+     * Tag / genre / color counts for the photos matching the filter
+     * Cached per filter (three GROUP BY scans otherwise run on every list page); any photo write clears the cache
+     */
+    @Transactional(readOnly = true)
+    public PhotoFacets getFacets(PhotoFilter filter) {
+        return facetCache.get(filter, f -> new PhotoFacets(
+                photoMapper.countTags(f, FACET_LIMIT),
+                photoMapper.countGenres(f, FACET_LIMIT),
+                photoMapper.countColors(f, FACET_LIMIT)));
+    }
+
+    /**
+     * Get photo by ID (cached; the returned instance is a private copy)
      */
     @Transactional(readOnly = true)
     public Photo getPhoto(Long id) {
-        return photoMapper.findById(id);
+        Photo photo = photoCache.get(id, photoMapper::findById);
+        return photo == null ? null : photo.copy();
     }
 
     /**
@@ -44,27 +83,94 @@ public class PhotoService {
             throw new IllegalArgumentException("Title cannot be empty");
         }
         photoMapper.insert(photo);
+        afterCommit(facetCache::clear);
+    }
+
+    /**
+     * Insert a batch of imported photos in one statement
+     */
+    public void importPhotos(List<Photo> photos) {
+        if (photos.isEmpty()) {
+            return;
+        }
+        for (Photo photo : photos) {
+            if (photo.getTitle() == null || photo.getTitle().trim().isEmpty()) {
+                throw new IllegalArgumentException("Title cannot be empty");
+            }
+        }
+        photoMapper.insertBatch(photos);
+        afterCommit(facetCache::clear);
     }
 
     /**
      * Update existing photo
      */
     public void updatePhoto(Photo photo) {
-        Photo existingPhoto = photoMapper.findById(photo.getId());
-        if (existingPhoto == null) {
+        // Single statement: the UPDATE reports the previous image path, or no row if the photo is gone
+        Photo previous = photoMapper.update(photo);
+        if (previous == null) {
             throw new IllegalArgumentException("Photo not found with id: " + photo.getId());
         }
-        photoMapper.update(photo);
+        afterCommit(() -> photoCache.invalidate(photo.getId()));
+        afterCommit(facetCache::clear);
+        if (!Objects.equals(previous.getImagePath(), photo.getImagePath())) {
+            releaseImageAfterCommit(previous.getImagePath());
+        }
+    }
+
+    /**
+     * Record generated thumbnail / srcset for a photo
+     */
+    public void updateDerivatives(Photo photo) {
+        photoMapper.updateDerivatives(photo);
+        afterCommit(() -> photoCache.invalidate(photo.getId()));
     }
 
     /**
      * Delete photo by ID
      */
     public void deletePhoto(Long id) {
-        Photo existingPhoto = photoMapper.findById(id);
-        if (existingPhoto == null) {
+        Photo deleted = photoMapper.delete(id);
+        if (deleted == null) {
             throw new IllegalArgumentException("Photo not found with id: " + id);
         }
-        photoMapper.delete(id);
+        afterCommit(() -> photoCache.invalidate(id));
+        afterCommit(facetCache::clear);
+        releaseImageAfterCommit(deleted.getImagePath());
+    }
+
+    /**
+     * Hit / miss counters of the photo detail cache
+     */
+    public ReadThroughCache.Stats getCacheStats() {
+        return photoCache.stats();
+    }
+
+    /**
+     * Hit / miss counters of the facet count cache
+     */
+    public ReadThroughCache.Stats getFacetCacheStats() {
+        return facetCache.stats();
+    }
+
+    /**
+     * Drop the photo's reference to its image file only once the change is committed
+     */
+    private void releaseImageAfterCommit(String imagePath) {
+        if (imagePath != null) {
+            afterCommit(() -> photoStorageService.release(imagePath));
+        }
+    }
+
+    /**
+     * Run once the current transaction has committed (a rollback leaves cache and files untouched)
+     */
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
@@ -0,0 +1,347 @@
+package com.example.photo.service;
+
+import com.example.photo.config.PhotoProperties;
+import com.example.photo.domain.PhotoBlob;
+import com.example.photo.repository.PhotoBlobMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Content-addressed image storage.
+ * The body is copied chunk by chunk into a {@link FileChannel} while being hashed, so nothing is held in memory,
+ * and uploads are rejected as early as possible: on the declared length, on the first bytes (not an image),
+ * or as soon as the running size passes the limit.
+ * Files are named by SHA-256, so identical uploads are stored once and their URLs never change content;
+ * {@code photo_blobs} counts the photos referencing each file.
+ * Stored bytes and write time are recorded per source ({@code upload} / {@code import}), so
+ * {@code rate(photo_upload_bytes_sum)} gives the ingest byte rate; rejections are counted by reason.
+ */
+@Service
+public class PhotoStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoStorageService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int HEADER_LENGTH = 12;
+    private static final String IMAGE_URL_PREFIX = "/images/";
+    private static final String INCOMING_DIR = ".incoming";
+
+    private final PhotoProperties photoProperties;
+    private final PhotoBlobMapper photoBlobMapper;
+    private final Semaphore uploadSlots;
+    private final ReentrantLock[] locks = new ReentrantLock[64];
+    private final MeterRegistry meterRegistry;
+    private final Metrics uploadMetrics;
+    private final Metrics importMetrics;
+
+    public PhotoStorageService(PhotoProperties photoProperties, PhotoBlobMapper photoBlobMapper,
+                               MeterRegistry meterRegistry) {
+        this.photoProperties = photoProperties;
+        this.photoBlobMapper = photoBlobMapper;
+        this.meterRegistry = meterRegistry;
+        this.uploadMetrics = new Metrics(meterRegistry, "upload");
+        this.importMetrics = new Metrics(meterRegistry, "import");
+        this.uploadSlots = new Semaphore(Math.max(1, photoProperties.getUpload().getMaxConcurrent()), true);
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Store an image stream.
+     * Registers one reference to the stored file; call {@link #release} if the photo is not saved after all.
+     *
+     * @param declaredSize size announced by the client (Content-Length / multipart size), or -1 if unknown
+     * @return browser-accessible path (/images/ab/cd/sha256.ext) with the content hash and size
+     */
+    public StoredImage store(InputStream in, long declaredSize) throws IOException {
+        PhotoProperties.Upload limits = photoProperties.getUpload();
+        long maxBytes = limits.getMaxFileSize().toBytes();
+        try {
+            if (declaredSize > maxBytes) {
+                throw tooLarge(maxBytes);
+            }
+
+            try {
+                if (!uploadSlots.tryAcquire(limits.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new UploadRejectedException(Reason.BUSY, "Too many uploads in progress, try again shortly");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UploadRejectedException(Reason.BUSY, "Upload interrupted");
+            }
+
+            try {
+                return write(in, declaredSize, maxBytes, uploadMetrics);
+            } finally {
+                uploadSlots.release();
+            }
+        } catch (UploadRejectedException e) {
+            countRejected("upload", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Store a file already on this server (bulk import).
+     * Does not take an upload slot; the importer bounds its own parallelism.
+     */
+    public StoredImage importFile(Path file) throws IOException {
+        long maxBytes = photoProperties.getUpload().getMaxFileSize().toBytes();
+        long size = Files.size(file);
+        try {
+            if (size > maxBytes) {
+                throw tooLarge(maxBytes);
+            }
+            try (InputStream in = Files.newInputStream(file)) {
+                return write(in, size, maxBytes, importMetrics);
+            }
+        } catch (UploadRejectedException e) {
+            countRejected("import", e);
+            throw e;
+        }
+    }
+
+    private StoredImage write(InputStream in, long declaredSize, long maxBytes, Metrics metrics) throws IOException {
+        long start = System.nanoTime();
+        // Sniff the type from the content itself; the client filename/extension is not trusted
+        byte[] header = in.readNBytes(HEADER_LENGTH);
+        String extension = detectExtension(header);
+        if (extension == null) {
+            throw new UploadRejectedException(Reason.UNSUPPORTED_TYPE, "Only JPEG, PNG, GIF, WebP, TIFF, HEIC and AVIF images are accepted");
+        }
+
+        // The name is only known once the whole body is hashed, so stream into a staging area first
+        Path root = Paths.get(photoProperties.getUploadDir());
+        Path incoming = root.resolve(INCOMING_DIR);
+        Files.createDirectories(incoming);
+
+        long expected = declaredSize > 0 ? declaredSize : maxBytes;
+        long reserve = photoProperties.getUpload().getMinFreeSpace().toBytes();
+        if (Files.getFileStore(incoming).getUsableSpace() - expected < reserve) {
+            throw new UploadRejectedException(Reason.INSUFFICIENT_STORAGE, "Not enough storage space for this upload");
+        }
+
+        Path partial = incoming.resolve(UUID.randomUUID() + ".part");
+        MessageDigest digest = sha256();
+        long size = 0;
+        try {
+            try (FileChannel out = FileChannel.open(partial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                 ReadableByteChannel source = Channels.newChannel(in)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                buffer.put(header);
+                do {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (size > maxBytes) {
+                        throw tooLarge(maxBytes);
+                    }
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                } while (source.read(buffer) >= 0);
+            }
+
+            // Sharded layout keeps directories small: ab/cd/abcd....jpg
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            String relative = sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256 + "." + extension;
+            String imagePath = IMAGE_URL_PREFIX + relative;
+
+            PhotoBlob blob = new PhotoBlob();
+            blob.setSha256(sha256);
+            blob.setImagePath(imagePath);
+            blob.setSizeBytes(size);
+
+            ReentrantLock lock = lockFor(imagePath);
+            lock.lock();
+            try {
+                // Reference first: a concurrent release can then no longer delete the file we are about to reuse
+                photoBlobMapper.acquire(blob);
+                Path target = root.resolve(relative);
+                if (Files.exists(target)) {
+                    log.debug("Duplicate upload, reusing {}", imagePath);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } finally {
+                lock.unlock();
+            }
+            metrics.bytes.record(size);
+            metrics.duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return new StoredImage(imagePath, sha256, size);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    /**
+     * Drop one reference to a stored image; the file and its derivatives are deleted with the last reference.
+     * Paths from before content addressing are not tracked and are left alone.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(String imagePath) {
+        if (imagePath == null) {
+            return;
+        }
+        ReentrantLock lock = lockFor(imagePath);
+        lock.lock();
+        try {
+            if (photoBlobMapper.release(imagePath) == 0 || photoBlobMapper.deleteUnreferenced(imagePath) == 0) {
+                return;
+            }
+            Path file = Paths.get(photoProperties.getUploadDir(), imagePath.substring(IMAGE_URL_PREFIX.length()));
+            String baseName = file.getFileName().toString();
+            baseName = baseName.substring(0, baseName.lastIndexOf('.'));
+            try (DirectoryStream<Path> derivatives = Files.newDirectoryStream(file.getParent(), baseName + "-*")) {
+                for (Path derivative : derivatives) {
+                    Files.deleteIfExists(derivative);
+                }
+            }
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete unreferenced image {}: {}", imagePath, e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void countRejected(String source, UploadRejectedException e) {
+        Counter.builder("photo.upload.rejected")
+                .tag("source", source)
+                .tag("reason", e.getReason().name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private ReentrantLock lockFor(String imagePath) {
+        return locks[Math.floorMod(imagePath.hashCode(), locks.length)];
+    }
+
+    /**
+     * Map magic bytes to a file extension, null if the content is not a supported image
+     */
+    static String detectExtension(byte[] header) {
+        if (header.length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if (startsWith(header, 0, new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'})) {
+            return "png";
+        }
+        if (startsWith(header, 0, "GIF87a".getBytes()) || startsWith(header, 0, "GIF89a".getBytes())) {
+            return "gif";
+        }
+        if (startsWith(header, 0, "RIFF".getBytes()) && startsWith(header, 8, "WEBP".getBytes())) {
+            return "webp";
+        }
+        if (startsWith(header, 0, new byte[]{'I', 'I', 42, 0}) || startsWith(header, 0, new byte[]{'M', 'M', 0, 42})) {
+            return "tif";
+        }
+        if (startsWith(header, 4, "ftyp".getBytes())) {
+            if (startsWith(header, 8, "avif".getBytes())) {
+                return "avif";
+            }
+            if (startsWith(header, 8, "heic".getBytes()) || startsWith(header, 8, "heix".getBytes())
+                    || startsWith(header, 8, "mif1".getBytes())) {
+                return "heic";
+            }
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        return data.length >= offset + prefix.length
+                && Arrays.equals(data, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static UploadRejectedException tooLarge(long maxBytes) {
+        return new UploadRejectedException(Reason.TOO_LARGE, "File exceeds the maximum size of " + (maxBytes / (1024 * 1024)) + "MB");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Meters for one source of stored images
+     */
+    private static final class Metrics {
+
+        private final DistributionSummary bytes;
+        private final Timer duration;
+
+        Metrics(MeterRegistry registry, String source) {
+            this.bytes = DistributionSummary.builder("photo.upload.bytes")
+                    .description("Size of stored images")
+                    .baseUnit("bytes")
+                    .tag("source", source)
+                    .register(registry);
+            this.duration = Timer.builder("photo.upload.duration")
+                    .description("Streaming, hashing and storing one image")
+                    .tag("source", source)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Result of a completed upload
+     */
+    public record StoredImage(String imagePath, String sha256, long size) {
+    }
+
+    public enum Reason {
+        TOO_LARGE, UNSUPPORTED_TYPE, BUSY, INSUFFICIENT_STORAGE
+    }
+
+    /**
+     * Upload refused before or while streaming; the partial file has already been removed
+     */
+    public static class UploadRejectedException extends IllegalArgumentException {
+
+        private final Reason reason;
+
+        public UploadRejectedException(Reason reason, String message) {
+            super(message);
+            this.reason = reason;
+        }
+
+        public Reason getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Small read-through cache in front of a mapper lookup: LRU-bounded, entries expire a fixed time after loading.
+ *
+ * Concurrent misses for the same key share one load (the others wait for its result), so a hot entry
+ * expiring does not send a burst of identical queries to the database. {@link #invalidate} also cancels
+ * the caching of a load that is still running, so a value read before a write never lands in the cache after it.
+ * Null results are not cached. The entry map is guarded by a {@link ReentrantLock} for the same reason as
+ * {@link com.example.blog.service.PageCache}: waiting virtual threads must not pin their carriers.
+ */
+public class ReadThroughCache<K, V> {
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    // access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ReadThroughCache(String name, int maxEntries, Duration ttl) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Cached value for the key, loading it through {@code loader} on a miss
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        if (maxEntries <= 0) {
+            return loader.apply(key);
+        }
+
+        V cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> running = loading.putIfAbsent(key, load);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            loads.increment();
+            V value = loader.apply(key);
+            // Skip caching if the key was invalidated while loading
+            if (loading.remove(key, load) && value != null) {
+                store(key, value);
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            loading.remove(key, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidate(K key) {
+        loading.remove(key);
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            loading.clear();
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hits.sum(), misses.sum(), loads.sum(), evictions.sum(), entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private V lookup(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAt() >= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(K key, V value) {
+        lock.lock();
+        try {
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    /**
+     * Snapshot of cache counters
+     *
+     * @param hits      lookups answered from the cache
+     * @param misses    lookups that needed a load (including those that waited for another thread's load)
+     * @param loads     loader invocations, i.e. actual database queries
+     * @param evictions entries dropped to stay within max entries
+     * @param size      number of cached entries
+     */
+    public record Stats(long hits, long misses, long loads, long evictions, int size) {
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+}
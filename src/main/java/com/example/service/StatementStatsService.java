@@ -0,0 +1,316 @@
+package com.example.service;
+
+import com.example.config.StatementStatsProperties;
+import jakarta.annotation.PreDestroy;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution statistics per mapped statement ID (fed by {@link com.example.config.MyBatisStatementInterceptor}).
+ *
+ * Keeps counts, rows, total/max time and a coarse latency histogram per statement, all lock-free.
+ * Executions over {@code statement-stats.slow-threshold} are logged with their bound parameters; the first slow
+ * run of each statement also has its {@code EXPLAIN} plan captured on a separate connection in the background,
+ * logged, and shown on /admin/queries.
+ */
+@Service
+public class StatementStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementStatsService.class);
+
+    /**
+     * Histogram bucket upper bounds in milliseconds; one extra bucket counts everything slower
+     */
+    private static final long[] BUCKET_BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+
+    private static final int EXPLAIN_TIMEOUT_SECONDS = 5;
+
+    private final StatementStatsProperties properties;
+    private final DataSource dataSource;
+    private final Map<String, Stats> statistics = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor;
+
+    public StatementStatsService(StatementStatsProperties properties, DataSource dataSource) {
+        this.properties = properties;
+        this.dataSource = dataSource;
+        // One plan at a time; if statements turn slow faster than that, the extra plans are simply skipped
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(16),
+                r -> {
+                    Thread t = new Thread(r, "statement-explain");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+        this.explainExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Record one execution
+     *
+     * @param boundSql the SQL as executed when the caller already has it, otherwise null (built only if needed)
+     * @param rows     rows returned by a query or affected by an update
+     */
+    public void record(MappedStatement statement, Object parameter, BoundSql boundSql, long nanos, long rows, boolean failed) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Stats stats = statistics.computeIfAbsent(statement.getId(),
+                id -> new Stats(id, statement.getSqlCommandType(), sqlText(statement, parameter, boundSql)));
+        stats.record(nanos, rows, failed);
+
+        if (failed || nanos < properties.getSlowThreshold().toNanos()) {
+            return;
+        }
+        stats.slow.increment();
+        try {
+            BoundSql executed = boundSql != null ? boundSql : statement.getBoundSql(parameter);
+            log.warn("Slow statement {}: {} ms, {} rows, parameters {}", statement.getId(),
+                    TimeUnit.NANOSECONDS.toMillis(nanos), rows, describeParameters(statement.getConfiguration(), executed, parameter));
+            if (properties.isExplain() && isExplainable(statement.getSqlCommandType()) && stats.explainRequested.compareAndSet(false, true)) {
+                explainExecutor.execute(() -> explain(stats, statement, parameter, executed));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Slow statement {}: {} ms, {} rows (parameters unavailable: {})", statement.getId(),
+                    TimeUnit.NANOSECONDS.toMillis(nanos), rows, e.getMessage());
+        }
+    }
+
+    /**
+     * Heaviest statements first
+     *
+     * @param sort total, mean, max, executions, rows or slow; anything else sorts by total time
+     */
+    public List<StatementSummary> top(String sort, int limit) {
+        Comparator<StatementSummary> order = switch (sort == null ? "" : sort) {
+            case "mean" -> Comparator.comparingDouble(StatementSummary::meanMillis);
+            case "max" -> Comparator.comparingDouble(StatementSummary::maxMillis);
+            case "executions" -> Comparator.comparingLong(StatementSummary::executions);
+            case "rows" -> Comparator.comparingLong(StatementSummary::rows);
+            case "slow" -> Comparator.comparingLong(StatementSummary::slow);
+            default -> Comparator.comparingDouble(StatementSummary::totalMillis);
+        };
+        return statistics.values().stream()
+                .map(Stats::summary)
+                .sorted(order.reversed())
+                .limit(Math.max(1, limit))
+                .toList();
+    }
+
+    public int getStatementCount() {
+        return statistics.size();
+    }
+
+    /**
+     * Forget all statistics and captured plans (the next slow run of each statement is explained again)
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    /**
+     * Run EXPLAIN with the same SQL and parameters; never touches the transaction the statement ran in
+     */
+    private void explain(Stats stats, MappedStatement statement, Object parameter, BoundSql boundSql) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+            ps.setQueryTimeout(EXPLAIN_TIMEOUT_SECONDS);
+            statement.getConfiguration().newParameterHandler(statement, parameter, boundSql).setParameters(ps);
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            stats.plan = plan.toString().stripTrailing();
+            log.warn("Plan for slow statement {}:\n{}", statement.getId(), stats.plan);
+        } catch (Exception e) {
+            stats.plan = "EXPLAIN failed: " + e.getMessage();
+            log.warn("Could not explain slow statement {}: {}", statement.getId(), e.getMessage());
+        }
+    }
+
+    private static boolean isExplainable(SqlCommandType command) {
+        return command == SqlCommandType.SELECT || command == SqlCommandType.INSERT
+                || command == SqlCommandType.UPDATE || command == SqlCommandType.DELETE;
+    }
+
+    /**
+     * Statement SQL with whitespace collapsed, for display (dynamic SQL shows the first variant executed)
+     */
+    private static String sqlText(MappedStatement statement, Object parameter, BoundSql boundSql) {
+        try {
+            BoundSql sql = boundSql != null ? boundSql : statement.getBoundSql(parameter);
+            return sql.getSql().replaceAll("\\s+", " ").trim();
+        } catch (RuntimeException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Bound parameter values in placeholder order, resolved the same way MyBatis' DefaultParameterHandler does
+     */
+    private String describeParameters(Configuration configuration, BoundSql boundSql, Object parameter) {
+        List<String> values = new ArrayList<>();
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                value = configuration.newMetaObject(parameter).getValue(property);
+            }
+            values.add(describe(value));
+        }
+        return values.toString();
+    }
+
+    private String describe(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String text = value instanceof CharSequence ? "'" + value + "'" : value.toString();
+        int max = Math.max(8, properties.getMaxParameterLength());
+        return text.length() > max ? text.substring(0, max) + "...(" + text.length() + " chars)" : text;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private static final class Stats {
+
+        private final String id;
+        private final SqlCommandType command;
+        private final String sql;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+        private final LongAdder slow = new LongAdder();
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MS.length + 1);
+        private final AtomicBoolean explainRequested = new AtomicBoolean();
+        private volatile String plan;
+
+        private Stats(String id, SqlCommandType command, String sql) {
+            this.id = id;
+            this.command = command;
+            this.sql = sql;
+        }
+
+        void record(long nanos, long rowCount, boolean failed) {
+            executions.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (failed) {
+                errors.increment();
+            } else {
+                rows.add(rowCount);
+            }
+            buckets.incrementAndGet(bucketIndex(nanos));
+        }
+
+        private static int bucketIndex(long nanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+                if (millis < BUCKET_BOUNDS_MS[i]) {
+                    return i;
+                }
+            }
+            return BUCKET_BOUNDS_MS.length;
+        }
+
+        StatementSummary summary() {
+            long count = executions.sum();
+            double total = totalNanos.sum() / 1_000_000.0;
+            double max = maxNanos.get() / 1_000_000.0;
+            long[] counts = new long[buckets.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+            }
+            List<Bucket> histogram = new ArrayList<>(counts.length);
+            for (int i = 0; i < counts.length; i++) {
+                String label = i < BUCKET_BOUNDS_MS.length ? "< " + BUCKET_BOUNDS_MS[i] + " ms" : ">= " + BUCKET_BOUNDS_MS[i - 1] + " ms";
+                histogram.add(new Bucket(label, counts[i]));
+            }
+            return new StatementSummary(id, command.name().toLowerCase(Locale.ROOT), sql, count, errors.sum(), rows.sum(),
+                    total, count == 0 ? 0 : total / count, max,
+                    percentile(counts, 0.50, max), percentile(counts, 0.95, max), percentile(counts, 0.99, max),
+                    slow.sum(), plan, histogram);
+        }
+
+        /**
+         * Upper bound (ms) of the bucket holding the percentile, capped at the observed maximum
+         */
+        private static double percentile(long[] counts, double percentile, double max) {
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(percentile * total);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return i < BUCKET_BOUNDS_MS.length ? Math.min(BUCKET_BOUNDS_MS[i], max) : max;
+                }
+            }
+            return max;
+        }
+    }
+
+    public record Bucket(String label, long count) {
+    }
+
+    /**
+     * Snapshot of one statement's statistics; times in milliseconds, percentiles are histogram bucket bounds
+     */
+    public record StatementSummary(String id, String command, String sql, long executions, long errors, long rows,
+                                   double totalMillis, double meanMillis, double maxMillis,
+                                   double p50Millis, double p95Millis, double p99Millis,
+                                   long slow, String plan, List<Bucket> histogram) {
+
+        public double rowsPerExecution() {
+            long ok = executions - errors;
+            return ok == 0 ? 0 : (double) rows / ok;
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.service;
 
+import com.example.config.EntityCacheProperties;
 import com.example.dao.UserDao;
 import com.example.model.User;
+import com.example.model.UserPage;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * User Service layer
@@ -15,25 +23,53 @@ import java.util.List;
 public class UserService {
 
     private final UserDao userDao;
+    private final ReadThroughCache<Long, User> userCache;
 
-    public UserService(UserDao userDao) {
+    public UserService(UserDao userDao, EntityCacheProperties cacheProperties) {
         this.userDao = userDao;
+        EntityCacheProperties.Spec spec = cacheProperties.getUsers();
+        this.userCache = new ReadThroughCache<>("users", spec.getMaxEntries(), spec.getTtl());
     }
 
     /**
-     * Get all users
+     * Get one page of users, newest first
+     * One extra row is fetched to tell whether another page follows
+     *
+     * @param cursor {@link UserPage#getNextCursor()} of the previous page, null (or unreadable) for the first page
      */
     @Transactional(readOnly = true)
-    public List<User> getAllUsers() {
-        return userDao.findAll();
+    public UserPage getUserPage(String cursor, int size) {
+        UserPage.Position after = UserPage.parseCursor(cursor);
+        List<User> users = after == null
+                ? userDao.findPage(null, null, size + 1)
+                : userDao.findPage(after.createdAt(), after.id(), size + 1);
+        if (users.size() <= size) {
+            return new UserPage(users, null);
+        }
+        List<User> page = users.subList(0, size);
+        return new UserPage(page, UserPage.cursorAfter(page.get(size - 1)));
     }
 
     /**
-     * Get user by ID
+     * Hand every user to the consumer, streaming rows from the database instead of loading the table
+     * A connection is held until this returns, so the consumer must not wait on a client (write to local storage)
+     */
+    @Transactional(readOnly = true)
+    public void exportUsers(Consumer<User> consumer) {
+        try (Cursor<User> users = userDao.streamAll()) {
+            users.forEach(consumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Get user by ID (cached; the returned instance is a private copy)
      */
     @Transactional(readOnly = true)
     public User getUserById(Long id) {
-        return userDao.findById(id);
+        User user = userCache.get(id, userDao::findById);
+        return user == null ? null : user.copy();
     }
 
     /**
@@ -48,42 +84,62 @@ public class UserService {
      * Create new user
      */
     public User createUser(User user) {
-        // Business logic validation can be added here
-        if (user.getUsername() == null || user.getUsername().trim().isEmpty()) {
-            throw new IllegalArgumentException("Username cannot be empty");
-        }
-        if (user.getEmail() == null || user.getEmail().trim().isEmpty()) {
-            throw new IllegalArgumentException("Email cannot be empty");
-        }
-
+        validate(user);
         userDao.insert(user);
         return user;
     }
 
+    /**
+     * Create several users with one INSERT (all or nothing)
+     */
+    public List<User> createUsers(List<User> users) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        users.forEach(this::validate);
+        userDao.insertAll(users);
+        return users;
+    }
+
     /**
      * Update existing user
      */
     public User updateUser(User user) {
-        // Check if user exists
-        User existingUser = userDao.findById(user.getId());
-        if (existingUser == null) {
+        // One round trip: the UPDATE returns the new row, or nothing if the user does not exist
+        User updatedUser = userDao.update(user);
+        if (updatedUser == null) {
             throw new IllegalArgumentException("User not found with id: " + user.getId());
         }
 
-        userDao.update(user);
-        return userDao.findById(user.getId());
+        afterCommit(() -> userCache.invalidate(user.getId()));
+        return updatedUser;
+    }
+
+    /**
+     * Update several users with one statement
+     *
+     * @return number of users updated (ids that do not exist are skipped)
+     */
+    public int updateUsers(List<User> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+        users.forEach(this::validate);
+        int updated = userDao.updateAll(users);
+        List<Long> ids = users.stream().map(User::getId).toList();
+        afterCommit(() -> ids.forEach(userCache::invalidate));
+        return updated;
     }
 
     /**
      * Delete user by ID
      */
     public void deleteUser(Long id) {
-        User existingUser = userDao.findById(id);
-        if (existingUser == null) {
+        if (userDao.delete(id) == 0) {
             throw new IllegalArgumentException("User not found with id: " + id);
         }
 
-        userDao.delete(id);
+        afterCommit(() -> userCache.invalidate(id));
     }
 
     /**
@@ -93,4 +149,33 @@ public class UserService {
     public long getUserCount() {
         return userDao.count();
     }
+
+    /**
+     * Hit / miss counters of the user detail cache
+     */
+    public ReadThroughCache.Stats getCacheStats() {
+        return userCache.stats();
+    }
+
+    private void validate(User user) {
+        // Business logic validation can be added here
+        if (user.getUsername() == null || user.getUsername().trim().isEmpty()) {
+            throw new IllegalArgumentException("Username cannot be empty");
+        }
+        if (user.getEmail() == null || user.getEmail().trim().isEmpty()) {
+            throw new IllegalArgumentException("Email cannot be empty");
+        }
+    }
+
+    /**
+     * Run once the current transaction has committed (a rollback leaves the cache untouched)
+     */
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
\ No newline at end of file
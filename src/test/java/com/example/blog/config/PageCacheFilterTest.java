@@ -0,0 +1,77 @@
+package com.example.blog.config;
+
+import com.example.blog.service.MarkdownPostService;
+import com.example.blog.service.PageCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PageCacheFilterTest {
+
+    private final PageCache pageCache = new PageCache(1024 * 1024, 100);
+    private final MarkdownPostService markdownPostService = mock(MarkdownPostService.class);
+    private final PageCacheFilter filter = new PageCacheFilter(pageCache, markdownPostService);
+
+    @BeforeEach
+    void setUp() {
+        when(markdownPostService.getListingETag()).thenReturn("v1");
+        byte[] body = "<html>cached</html>".getBytes(StandardCharsets.UTF_8);
+        pageCache.put("/blog", new PageCache.Page("v1", "text/html;charset=UTF-8", "\"abc\"", null,
+                "no-cache", "/blog", body, body));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "gzip                    | true",
+            "deflate, gzip;q=0.5     | true",
+            "GZIP                    | true",
+            "gzip;q=0                | false",
+            "gzip; q=0.0, deflate    | false",
+            "*;q=0.1                 | true",
+            "*, gzip;q=0             | false",
+            "br, *;q=0               | false",
+            "identity                | false",
+            "gzip;q=abc              | false"
+    })
+    void acceptsGzipHonoursQValues(String acceptEncoding, boolean expected) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/blog");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+
+        assertThat(PageCacheFilter.acceptsGzip(request)).isEqualTo(expected);
+    }
+
+    @Test
+    void refusedGzipGetsTheIdentityBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/blog");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("<html>cached</html>");
+    }
+
+    @Test
+    void notModifiedResponseCarriesVary() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/blog");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"abc\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+    }
+}
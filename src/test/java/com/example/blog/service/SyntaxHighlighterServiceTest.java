@@ -0,0 +1,70 @@
+package com.example.blog.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Golden-output tests: src/test/resources/highlight/{language}.txt is highlighted and compared
+ * with {language}.html. Run with -Phighlight.regenerate=true to rewrite the .html files after an
+ * intended lexer change, then review the diff.
+ */
+class SyntaxHighlighterServiceTest {
+
+    private final SyntaxHighlighterService highlighter = new SyntaxHighlighterService();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"java", "kotlin", "javascript", "bash", "python", "sql", "json", "yaml", "xml", "unknown"})
+    void matchesGoldenOutput(String language) throws IOException {
+        String actual = highlighter.highlight(read(language + ".txt"), language);
+
+        if (Boolean.getBoolean("highlight.regenerate")) {
+            Files.writeString(Path.of("src/test/resources/highlight", language + ".html"), actual);
+            return;
+        }
+        assertThat(actual).isEqualTo(read(language + ".html"));
+    }
+
+    @Test
+    void aliasesUseTheSameLanguage() {
+        String code = "const re = /a+b/i; x = `n=${n}`;";
+
+        assertThat(highlighter.highlight(code, "ts")).isEqualTo(highlighter.highlight(code, "javascript"));
+        assertThat(highlighter.highlight("val s = \"$x\"", "KT")).isEqualTo(highlighter.highlight("val s = \"$x\"", "kotlin"));
+    }
+
+    @Test
+    void divisionIsNotARegexLiteral() {
+        String html = highlighter.highlight("let half = (a + b) / 2 / c;", "javascript");
+
+        assertThat(html).doesNotContain("hljs-regexp").contains(") / <span class=\"hljs-number\">2</span> / c");
+    }
+
+    @Test
+    void unterminatedRegexFallsBackToOperator() {
+        String html = highlighter.highlight("x = /abc\ny = 1", "javascript");
+
+        assertThat(html).doesNotContain("hljs-regexp");
+    }
+
+    @Test
+    void nullLanguageIsOnlyEscaped() {
+        assertThat(highlighter.highlight("if (a < b) return \"x\";", null))
+                .isEqualTo("if (a &lt; b) return &quot;x&quot;;");
+    }
+
+    private static String read(String name) throws IOException {
+        try (InputStream in = SyntaxHighlighterServiceTest.class.getResourceAsStream("/highlight/" + name)) {
+            assertThat(in).as(name).isNotNull();
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
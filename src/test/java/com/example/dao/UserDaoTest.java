@@ -0,0 +1,96 @@
+package com.example.dao;
+
+import com.example.model.User;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the user statements against a real PostgreSQL (schema from init-scripts/01-init.sql).
+ * Each test rolls back, so the sample rows are all that is shared.
+ */
+@MybatisTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserDao.class, UserDaoTest.Postgres.class})
+class UserDaoTest {
+
+    @Autowired
+    private UserDao userDao;
+
+    @Test
+    void insertAllSetsGeneratedIds() {
+        List<User> users = List.of(
+                new User("batch-a", "batch-a@example.com", "Batch A", null),
+                new User("batch-b", "batch-b@example.com", null, "+82 10 0000 0000"));
+
+        userDao.insertAll(users);
+
+        assertThat(users).allSatisfy(user -> assertThat(user.getId()).isNotNull());
+        assertThat(users.get(1).getId()).isGreaterThan(users.get(0).getId());
+        assertThat(userDao.findById(users.get(0).getId()).getUsername()).isEqualTo("batch-a");
+        assertThat(userDao.findById(users.get(1).getId()).getPhoneNumber()).isEqualTo("+82 10 0000 0000");
+    }
+
+    @Test
+    void updateAllUpdatesExistingRowsAndSkipsMissingIds() {
+        List<User> users = List.of(
+                new User("upd-a", "upd-a@example.com", "Before", "1"),
+                new User("upd-b", "upd-b@example.com", "Before", null));
+        userDao.insertAll(users);
+
+        User first = users.get(0);
+        first.setFullName(null);
+        first.setPhoneNumber(null);
+        User second = users.get(1);
+        second.setEmail("upd-b-new@example.com");
+        second.setFullName("After");
+        User missing = new User("ghost", "ghost@example.com", null, null);
+        missing.setId(Long.MAX_VALUE);
+
+        int updated = userDao.updateAll(List.of(first, second, missing));
+
+        assertThat(updated).isEqualTo(2);
+        User reloadedFirst = userDao.findById(first.getId());
+        assertThat(reloadedFirst.getFullName()).isNull();
+        assertThat(reloadedFirst.getPhoneNumber()).isNull();
+        User reloadedSecond = userDao.findById(second.getId());
+        assertThat(reloadedSecond.getEmail()).isEqualTo("upd-b-new@example.com");
+        assertThat(reloadedSecond.getFullName()).isEqualTo("After");
+        assertThat(userDao.findByUsername("ghost")).isNull();
+    }
+
+    @TestConfiguration
+    static class Postgres {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.builder().start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres postgres) throws IOException, SQLException {
+            DataSource dataSource = postgres.getPostgresDatabase();
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                // One simple query, so dollar-quoted function bodies need no statement splitting
+                statement.execute(Files.readString(Path.of("init-scripts/01-init.sql")));
+            }
+            return dataSource;
+        }
+    }
+}
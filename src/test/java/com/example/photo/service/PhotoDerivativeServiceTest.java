@@ -0,0 +1,107 @@
+package com.example.photo.service;
+
+import com.example.photo.config.PhotoProperties;
+import com.example.photo.domain.Photo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class PhotoDerivativeServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private final PhotoService photoService = mock(PhotoService.class);
+    private PhotoDerivativeService derivativeService;
+
+    @BeforeEach
+    void setUp() {
+        PhotoProperties properties = new PhotoProperties();
+        properties.setUploadDir(uploadDir.toString());
+        properties.getDerivatives().setWidths(List.of(480, 960));
+        properties.getDerivatives().setThumbnailWidth(320);
+        properties.getDerivatives().setMaxPixels(50_000_000);
+        derivativeService = new PhotoDerivativeService(photoService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        derivativeService.shutdown();
+    }
+
+    @Test
+    void skipsImagesWhoseHeaderDeclaresTooManyPixels() throws IOException {
+        // A few hundred bytes on disk, but 30000x30000 pixels (3.6 GB as a BufferedImage) once decoded
+        byte[] png = withDimensions(png(new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB)), 30_000, 30_000);
+        Files.createDirectories(uploadDir.resolve("ab"));
+        Files.write(uploadDir.resolve("ab/huge.png"), png);
+
+        derivativeService.generate(photo("/images/ab/huge.png"));
+
+        verify(photoService, never()).updateDerivatives(any());
+        try (var files = Files.list(uploadDir.resolve("ab"))) {
+            assertThat(files).containsExactly(uploadDir.resolve("ab/huge.png"));
+        }
+    }
+
+    @Test
+    void generatesEveryWidthBelowTheOriginal() throws IOException {
+        Files.createDirectories(uploadDir.resolve("cd"));
+        Files.write(uploadDir.resolve("cd/photo.png"), png(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB)));
+
+        derivativeService.generate(photo("/images/cd/photo.png"));
+
+        ArgumentCaptor<Photo> saved = ArgumentCaptor.forClass(Photo.class);
+        verify(photoService).updateDerivatives(saved.capture());
+        assertThat(saved.getValue().getThumbnailPath()).isEqualTo("/images/cd/photo-thumb.jpg");
+        assertThat(saved.getValue().getImageSrcset())
+                .isEqualTo("/images/cd/photo-480w.jpg 480w, /images/cd/photo-960w.jpg 960w");
+        assertThat(ImageIO.read(uploadDir.resolve("cd/photo-960w.jpg").toFile()).getHeight()).isEqualTo(480);
+        assertThat(ImageIO.read(uploadDir.resolve("cd/photo-thumb.jpg").toFile()).getWidth()).isEqualTo(320);
+    }
+
+    private static Photo photo(String imagePath) {
+        Photo photo = new Photo();
+        photo.setId(1L);
+        photo.setImagePath(imagePath);
+        return photo;
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Rewrite the IHDR chunk's width and height (and its CRC) without touching the pixel data
+     */
+    private static byte[] withDimensions(byte[] png, int width, int height) {
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+        // 8-byte signature, 4-byte length, "IHDR", then width and height
+        buffer.putInt(16, width);
+        buffer.putInt(20, height);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 4 + 13);
+        buffer.putInt(12 + 4 + 13, (int) crc.getValue());
+        return png;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.photo.service;
+
+import com.example.photo.config.PhotoProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PhotoImportServiceTest {
+
+    @TempDir
+    Path sourceDir;
+
+    private final PhotoService photoService = mock(PhotoService.class);
+    private final PhotoStorageService photoStorageService = mock(PhotoStorageService.class);
+    private final PhotoDerivativeService photoDerivativeService = mock(PhotoDerivativeService.class);
+    private PhotoImportService importService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        PhotoProperties properties = new PhotoProperties();
+        properties.getBulkImport().setSourceDir(sourceDir.toString());
+        importService = new PhotoImportService(photoService, photoStorageService, photoDerivativeService,
+                properties, new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        Files.writeString(sourceDir.resolve("a.jpg"), "image");
+        Files.writeString(sourceDir.resolve("manifest.jsonl"), "{\"file\": \"a.jpg\", \"title\": \"A\"}\n");
+        when(photoStorageService.importFile(any()))
+                .thenReturn(new PhotoStorageService.StoredImage("/images/aa/a.jpg", "aa", 5));
+    }
+
+    @Test
+    void completedImportReportsCounts() throws InterruptedException {
+        importService.start("manifest.jsonl", null);
+
+        PhotoImportService.ImportProgress progress = awaitFinished();
+        assertThat(progress.state()).isEqualTo(PhotoImportService.State.COMPLETED);
+        assertThat(progress.imported()).isEqualTo(1);
+        assertThat(progress.error()).isNull();
+    }
+
+    @Test
+    void exceptionWithoutMessageIsReportedAsFailure() throws InterruptedException {
+        doThrow(new IllegalStateException()).when(photoDerivativeService).generate(any());
+
+        importService.start("manifest.jsonl", null);
+
+        PhotoImportService.ImportProgress progress = awaitFinished();
+        assertThat(progress.state()).isEqualTo(PhotoImportService.State.FAILED);
+        assertThat(progress.error()).isEqualTo(IllegalStateException.class.getName());
+    }
+
+    @Test
+    void errorStillEndsTheJobSoTheNextImportCanStart() throws InterruptedException {
+        doThrow(new StackOverflowError()).when(photoService).importPhotos(any());
+
+        importService.start("manifest.jsonl", null);
+
+        PhotoImportService.ImportProgress progress = awaitFinished();
+        assertThat(progress.state()).isEqualTo(PhotoImportService.State.FAILED);
+        assertThat(progress.error()).isEqualTo(StackOverflowError.class.getName());
+        assertThat(importService.start("manifest.jsonl", null).state()).isEqualTo(PhotoImportService.State.RUNNING);
+    }
+
+    private PhotoImportService.ImportProgress awaitFinished() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        PhotoImportService.ImportProgress progress = importService.getProgress();
+        while (progress.state() == PhotoImportService.State.RUNNING && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+            progress = importService.getProgress();
+        }
+        return progress;
+    }
+}
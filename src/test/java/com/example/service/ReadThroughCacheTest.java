@@ -0,0 +1,127 @@
+package com.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadThroughCacheTest {
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>("test", 10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get("k", key -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                await(release);
+                return "v";
+            })));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get("k", key -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            // Let the waiting callers reach the shared load before it completes
+            while (cache.stats().misses() < callers) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+            }
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().loads()).isEqualTo(1);
+        assertThat(cache.get("k", key -> "reloaded")).isEqualTo("v");
+    }
+
+    @Test
+    void invalidateDuringLoadPreventsStore() throws Exception {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>("test", 10, Duration.ofMinutes(1));
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<String> stale = executor.submit(() -> cache.get("k", key -> {
+                loaderStarted.countDown();
+                await(release);
+                return "stale";
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            cache.invalidate("k");
+            release.countDown();
+
+            // The caller that started the load still gets its value, it is just not cached
+            assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        }
+
+        assertThat(cache.stats().size()).isZero();
+        assertThat(cache.get("k", key -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void entriesExpireAfterTtl() throws Exception {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>("test", 10, Duration.ofMillis(50));
+        cache.get("k", key -> "first");
+
+        assertThat(cache.get("k", key -> "second")).isEqualTo("first");
+        Thread.sleep(100);
+        assertThat(cache.get("k", key -> "second")).isEqualTo("second");
+        assertThat(cache.stats().loads()).isEqualTo(2);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>("test", 2, Duration.ofMinutes(1));
+        cache.get("a", key -> "a1");
+        cache.get("b", key -> "b1");
+        cache.get("a", key -> "a2");
+        cache.get("c", key -> "c1");
+
+        ReadThroughCache.Stats stats = cache.stats();
+        assertThat(stats.size()).isEqualTo(2);
+        assertThat(stats.evictions()).isEqualTo(1);
+        assertThat(cache.get("a", key -> "a2")).isEqualTo("a1");
+        assertThat(cache.get("b", key -> "b2")).isEqualTo("b2");
+    }
+
+    @Test
+    void nullResultsAreNotCached() {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>("test", 10, Duration.ofMinutes(1));
+        cache.get("missing", key -> null);
+
+        assertThat(cache.get("missing", key -> "created")).isEqualTo("created");
+        assertThat(cache.stats().loads()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}